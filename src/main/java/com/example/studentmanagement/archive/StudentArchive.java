@@ -0,0 +1,138 @@
+package com.example.studentmanagement.archive;
+
+import com.example.studentmanagement.entity.ArchivedStudent;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.repository.ArchivedStudentRepository;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardEmailRegistry;
+import com.example.studentmanagement.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read, restore and delete access to the archived_students cold tier.
+ *
+ * Only present with app.archive.enabled=true, so a lookup miss costs no archive query otherwise.
+ * Archived rows stay on the shard the student lived on, so lookups by id go to that shard and
+ * lookups by email ask every shard. An archived student's email stays taken: the shard email
+ * registry keeps it until the student is deleted, and containsEmail lets writes check the archive.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class StudentArchive {
+
+    // Columns shared by students and archived_students
+    static final String COLUMNS = "id, first_name, last_name, email, phone_number, date_of_birth, address, "
+            + "department, enrollment_year, is_active, created_at, updated_at";
+
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private ShardEmailRegistry shardEmailRegistry;
+
+    public Optional<ArchivedStudent> findById(Long id) {
+        if (shardRouter == null) {
+            return archivedStudentRepository.findById(id);
+        }
+        return ShardContext.callOn(shardRouter.shardForId(id), () -> archivedStudentRepository.findById(id));
+    }
+
+    public List<ArchivedStudent> findAllById(Collection<Long> ids) {
+        if (shardRouter == null) {
+            return archivedStudentRepository.findAllById(ids);
+        }
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardRouter.shardForId(id), key -> new ArrayList<>()).add(id);
+        }
+        List<ArchivedStudent> found = new ArrayList<>();
+        idsByShard.forEach((shard, shardIds) ->
+                found.addAll(ShardContext.callOn(shard, () -> archivedStudentRepository.findAllById(shardIds))));
+        return found;
+    }
+
+    public Optional<ArchivedStudent> findByEmail(String email) {
+        if (shardRouter == null) {
+            return archivedStudentRepository.findFirstByEmailOrderByArchivedAtDesc(email);
+        }
+        return shardRouter.scatter(shard -> archivedStudentRepository.findFirstByEmailOrderByArchivedAtDesc(email)).stream()
+                .flatMap(Optional::stream)
+                .max(Comparator.comparing(ArchivedStudent::getArchivedAt));
+    }
+
+    // True if an archived student has this email
+    public boolean containsEmail(String email) {
+        if (shardRouter == null) {
+            return archivedStudentRepository.existsByEmail(email);
+        }
+        return shardRouter.scatter(shard -> archivedStudentRepository.existsByEmail(email)).contains(true);
+    }
+
+    // Move an archived student back into the students table in the caller's transaction; false if not archived
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean restore(Long id) {
+        String email = null;
+        if (shardEmailRegistry != null && shardEmailRegistry.emailOf(id).isEmpty()) {
+            // Students archived while archiving still released their email are registered again
+            Optional<ArchivedStudent> archived = findById(id);
+            if (archived.isEmpty()) {
+                return false;
+            }
+            email = archived.get().getEmail();
+            try {
+                shardEmailRegistry.reserve(email);
+            } catch (DuplicateKeyException e) {
+                throw new DuplicateEmailException(email);
+            }
+        }
+        int restored;
+        try {
+            restored = jdbcTemplate.update("INSERT INTO students (" + COLUMNS + ") SELECT " + COLUMNS
+                    + " FROM archived_students WHERE id = ?", id);
+        } catch (DuplicateKeyException e) {
+            // Only possible for students archived while archiving still released their email
+            throw new DuplicateEmailException(archivedStudentRepository.findById(id)
+                    .map(ArchivedStudent::getEmail).orElse("of archived student " + id));
+        }
+        if (restored == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM archived_students WHERE id = ?", id);
+        if (email != null) {
+            shardEmailRegistry.assign(email, id);
+        }
+        return true;
+    }
+
+    // Delete an archived student in the caller's transaction and free their email; false if not archived
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean delete(Long id) {
+        if (jdbcTemplate.update("DELETE FROM archived_students WHERE id = ?", id) == 0) {
+            return false;
+        }
+        if (shardEmailRegistry != null) {
+            shardEmailRegistry.releaseStudentAfterCommit(id);
+        }
+        return true;
+    }
+}
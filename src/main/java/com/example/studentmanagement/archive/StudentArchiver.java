@@ -0,0 +1,151 @@
+package com.example.studentmanagement.archive;
+
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.invalidation.StudentChangePublisher;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import com.example.studentmanagement.snapshot.StudentSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job that moves long-inactive students from students to archived_students.
+ *
+ * Candidates are inactive students whose last update is older than app.archive.inactive-days.
+ * Each batch is locked, copied with INSERT ... SELECT and deleted in one short transaction, and
+ * the job pauses between batches so it never competes with request traffic for long. A run
+ * stops after app.archive.max-batches-per-run batches; the next run continues where it left off.
+ * Archived students keep their emails: they stay in the email filter and the shard email registry,
+ * and StudentServiceImpl checks archived_students before a create or update takes an email.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class StudentArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentArchiver.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private StudentChangePublisher changePublisher;
+
+    @Autowired(required = false)
+    private StudentSnapshot studentSnapshot;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${app.archive.inactive-days:365}")
+    private long inactiveDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Archive eligible students and return how many were moved
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}", initialDelayString = "${app.archive.initial-delay-ms:60000}")
+    public long archiveInactiveStudents() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(inactiveDays);
+            long started = System.nanoTime();
+            long archived = 0;
+            if (shardRouter == null) {
+                archived = archiveUpTo(cutoff);
+            } else {
+                for (int shard : shardRouter.shardIndexes()) {
+                    archived += ShardContext.callOn(shard, () -> archiveUpTo(cutoff));
+                }
+            }
+            if (archived > 0) {
+                log.info("Archived {} students inactive since before {} in {} ms", archived, cutoff,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long archiveUpTo(LocalDate cutoff) {
+        long archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Map<String, Object>> rows = archiveBatch(cutoff);
+            archived += rows.size();
+            if (studentSnapshot != null && !rows.isEmpty()) {
+                studentSnapshot.refresh(rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList());
+            }
+            if (rows.size() < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return archived;
+    }
+
+    // Move one batch in a single transaction and return the moved students' ids and emails
+    private List<Map<String, Object>> archiveBatch(LocalDate cutoff) {
+        List<Map<String, Object>> moved = transactionTemplate.execute(status -> {
+            List<Map<String, Object>> candidates = jdbcTemplate.queryForList("SELECT id, email FROM students "
+                    + "WHERE is_active = FALSE AND updated_at < ? ORDER BY id LIMIT " + batchSize + " FOR UPDATE",
+                    Date.valueOf(cutoff));
+            if (candidates.isEmpty()) {
+                return Collections.<Map<String, Object>>emptyList();
+            }
+            List<Long> batchIds = new ArrayList<>(candidates.size());
+            candidates.forEach(row -> batchIds.add(((Number) row.get("id")).longValue()));
+            String placeholders = String.join(",", Collections.nCopies(batchIds.size(), "?"));
+
+            List<Object> insertParams = new ArrayList<>(batchIds.size() + 1);
+            insertParams.add(Timestamp.valueOf(LocalDateTime.now()));
+            insertParams.addAll(batchIds);
+            jdbcTemplate.update("INSERT INTO archived_students (" + StudentArchive.COLUMNS + ", archived_at) SELECT "
+                    + StudentArchive.COLUMNS + ", ? FROM students WHERE id IN (" + placeholders + ")", insertParams.toArray());
+            jdbcTemplate.update("DELETE FROM students WHERE id IN (" + placeholders + ")", batchIds.toArray());
+
+            if (changePublisher != null) {
+                for (Map<String, Object> row : candidates) {
+                    changePublisher.publish(StudentChangeEvent.ChangeType.ARCHIVED,
+                            ((Number) row.get("id")).longValue(), (String) row.get("email"), null);
+                }
+            }
+            return candidates;
+        });
+        return moved == null ? List.of() : moved;
+    }
+}
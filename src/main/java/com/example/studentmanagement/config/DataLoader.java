@@ -4,11 +4,19 @@ import com.example.studentmanagement.entity.Student;
 import com.example.studentmanagement.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
 
+// Disabled with app.sample-data.enabled=false (e.g. the prod profile) so startup skips the count() query.
+// Runs first, so the sample rows are in the snapshot and email filter that WarmUpRunner builds.
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sample-data.enabled", havingValue = "true", matchIfMissing = true)
 public class DataLoader implements CommandLineRunner {
 
     @Autowired
@@ -36,7 +44,6 @@ public class DataLoader implements CommandLineRunner {
         student1.setIsActive(true);
         student1.setCreatedAt(LocalDate.now());
         student1.setUpdatedAt(LocalDate.now());
-        studentRepository.save(student1);
 
         // Sample Student 2
         Student student2 = new Student();
@@ -51,7 +58,6 @@ public class DataLoader implements CommandLineRunner {
         student2.setIsActive(true);
         student2.setCreatedAt(LocalDate.now());
         student2.setUpdatedAt(LocalDate.now());
-        studentRepository.save(student2);
 
         // Sample Student 3
         Student student3 = new Student();
@@ -66,7 +72,6 @@ public class DataLoader implements CommandLineRunner {
         student3.setIsActive(true);
         student3.setCreatedAt(LocalDate.now());
         student3.setUpdatedAt(LocalDate.now());
-        studentRepository.save(student3);
 
         // Sample Student 4
         Student student4 = new Student();
@@ -81,7 +86,6 @@ public class DataLoader implements CommandLineRunner {
         student4.setIsActive(true);
         student4.setCreatedAt(LocalDate.now());
         student4.setUpdatedAt(LocalDate.now());
-        studentRepository.save(student4);
 
         // Sample Student 5
         Student student5 = new Student();
@@ -96,7 +100,9 @@ public class DataLoader implements CommandLineRunner {
         student5.setIsActive(false);
         student5.setCreatedAt(LocalDate.now());
         student5.setUpdatedAt(LocalDate.now());
-        studentRepository.save(student5);
+
+        // Save all sample students in a single transaction
+        studentRepository.saveAll(List.of(student1, student2, student3, student4, student5));
 
         System.out.println("Sample data loaded successfully!");
     }
@@ -0,0 +1,10 @@
+package com.example.studentmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs @Scheduled background jobs (e.g. student change polling)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
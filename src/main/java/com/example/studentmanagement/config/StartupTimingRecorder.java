@@ -0,0 +1,53 @@
+package com.example.studentmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Logs startup time and time-to-first-request, both measured from JVM start, to compare startup modes.
+// Requests are only looked at from ApplicationReadyEvent on, after the runners, so warm-up requests are not counted.
+@Component
+public class StartupTimingRecorder extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingRecorder.class);
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+    private volatile boolean ready;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ready = true;
+        log.info("Startup: application ready {} ms after JVM start (context started in {} ms)",
+                jvmUptimeMillis(), event.getTimeTaken().toMillis());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!ready || firstRequestSeen.get() || !firstRequestSeen.compareAndSet(false, true)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            log.info("Startup: first request {} {} completed {} ms after JVM start",
+                    request.getMethod(), request.getRequestURI(), jvmUptimeMillis());
+        }
+    }
+
+    private long jvmUptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
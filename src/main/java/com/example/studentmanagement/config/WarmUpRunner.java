@@ -0,0 +1,306 @@
+package com.example.studentmanagement.config;
+
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.invalidation.StudentChangePublisher;
+import com.example.studentmanagement.mapper.StudentMapper;
+import com.example.studentmanagement.membership.EmailMembershipFilter;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import com.example.studentmanagement.snapshot.StudentSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the StudentController read/write paths before the application reports ready.
+ *
+ * Runners finish before ApplicationReadyEvent, which is what turns the readiness probe
+ * (/actuator/health/readiness) to ACCEPTING_TRAFFIC, so the first real requests find JIT-compiled
+ * code and a warm connection pool. The snapshot and the email filter, when enabled, are built here
+ * rather than at ApplicationReadyEvent, so the iterations run the paths that will serve list,
+ * count and create requests. Two kinds of iterations run:
+ * - service iterations create, read, update, deactivate/activate and delete a scratch student in a
+ *   transaction that is rolled back, so no scratch rows are ever committed and no outbox records are
+ *   written for them. Rolled-back inserts still use up AUTO_INCREMENT ids (with sharding, part of a
+ *   shard's bounded id range) and briefly reserve an email in student_emails, so write iterations
+ *   need a non-production datasource; with app.warm-up.writes-enabled=false (the prod profile) they
+ *   only validate, serialize and look up an existing student;
+ * - HTTP iterations send read-only requests and an invalid create to the local server, which
+ *   initialises the DispatcherServlet and runs the filters, message converters, @Valid and the
+ *   DatabaseExecutor async path. They are skipped when there is no web server, and are not
+ *   counted as the first request by StartupTimingRecorder.
+ * Count and department reads are only warmed up from the snapshot; without it they would scan the table.
+ * A failing warm-up is logged and does not block startup.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    // Fails @Valid: required fields are missing and the email is malformed
+    private static final String INVALID_STUDENT_JSON = "{\"email\":\"not-an-email\"}";
+
+    // No real student is in this department, so department reads return an empty list
+    private static final String WARM_UP_DEPARTMENT = "Warm-up";
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment environment;
+
+    // Present only with app.invalidation.enabled=true
+    @Autowired(required = false)
+    private StudentChangePublisher changePublisher;
+
+    // Present only with app.snapshot.enabled=true
+    @Autowired(required = false)
+    private StudentSnapshot studentSnapshot;
+
+    // Present only with app.email-filter.enabled=true
+    @Autowired(required = false)
+    private EmailMembershipFilter emailFilter;
+
+    @Value("${app.warm-up.iterations:200}")
+    private int iterations;
+
+    @Value("${app.warm-up.http-iterations:20}")
+    private int httpIterations;
+
+    @Value("${app.warm-up.writes-enabled:true}")
+    private boolean writesEnabled;
+
+    // Group commits run on their own thread and commit, so creates go straight to the repository then
+    @Value("${app.write-coalescing.enabled:false}")
+    private boolean writeCoalescingEnabled;
+
+    private volatile int completedIterations;
+    private volatile int completedHttpIterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        try {
+            if (studentSnapshot != null) {
+                studentSnapshot.load();
+            }
+            if (emailFilter != null) {
+                emailFilter.build();
+            }
+            if (changePublisher != null) {
+                changePublisher.withoutPublishing(this::runServiceIterations);
+            } else {
+                runServiceIterations();
+            }
+            runHttpIterations();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up stopped after {} of {} service and {} of {} HTTP iterations: {}", completedIterations,
+                    iterations, completedHttpIterations, httpIterations, e.getMessage());
+            return;
+        }
+        log.info("Warm-up: {} service and {} HTTP iterations in {} ms", completedIterations, completedHttpIterations,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public int getCompletedHttpIterations() {
+        return completedHttpIterations;
+    }
+
+    private void runServiceIterations() {
+        if (!writesEnabled) {
+            List<Student> existing = studentRepository.findAll(PageRequest.of(0, 1)).getContent();
+            for (int i = 0; i < iterations; i++) {
+                exerciseReadPaths(existing.isEmpty() ? null : existing.get(0));
+                completedIterations++;
+            }
+            return;
+        }
+        TransactionTemplate scratchTransaction = new TransactionTemplate(transactionManager);
+        scratchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < iterations; i++) {
+            scratchTransaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                exerciseStudentPaths();
+            });
+            completedIterations++;
+        }
+    }
+
+    // One pass over create, lookups, update, deactivate/activate and delete of a scratch student
+    private void exerciseStudentPaths() {
+        StudentRequestDTO request = scratchRequest();
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException("Warm-up student does not pass validation");
+        }
+        readJson(writeJson(request), StudentRequestDTO.class);
+
+        StudentResponseDTO created = writeCoalescingEnabled
+                ? studentService.getStudentById(studentRepository.save(studentMapper.toEntity(request)).getId())
+                : studentService.createStudent(request);
+        Long id = created.getId();
+        writeJson(studentService.getStudentById(id));
+        writeJson(studentService.getStudentByEmail(request.getEmail()));
+        StudentBatchResponseDTO batch = studentService.getStudentsByIds(List.of(id, -id));
+        readJson(writeJson(batch), StudentBatchResponseDTO.class);
+
+        if (snapshotReady()) {
+            // Answered from memory; the scratch student is not in the snapshot, as its transaction never commits
+            writeJson(studentService.getStudentsByDepartment(WARM_UP_DEPARTMENT));
+            studentService.countStudents(true, request.getDepartment());
+        }
+
+        request.setDepartment("Mathematics");
+        writeJson(studentService.updateStudent(id, request));
+        writeJson(studentService.deactivateStudent(id));
+        readJson(writeJson(studentService.activateStudent(id)), StudentResponseDTO.class);
+        studentService.deleteStudent(id);
+    }
+
+    // Validation, JSON and lookups without writing anything; existing is null when there are no students
+    private void exerciseReadPaths(Student existing) {
+        StudentRequestDTO request = scratchRequest();
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException("Warm-up student does not pass validation");
+        }
+        readJson(writeJson(request), StudentRequestDTO.class);
+
+        long id = -1;
+        if (existing != null) {
+            id = existing.getId();
+            readJson(writeJson(studentService.getStudentById(id)), StudentResponseDTO.class);
+            writeJson(studentService.getStudentByEmail(existing.getEmail()));
+        }
+        StudentBatchResponseDTO batch = studentService.getStudentsByIds(List.of(id, -2L));
+        readJson(writeJson(batch), StudentBatchResponseDTO.class);
+
+        if (snapshotReady()) {
+            writeJson(studentService.getStudentsByDepartment(WARM_UP_DEPARTMENT));
+            studentService.countStudents(true, request.getDepartment());
+        }
+    }
+
+    // Read-only requests through the whole web stack; an existing student, if any, gives the reads a response body
+    private void runHttpIterations() {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || port <= 0 || httpIterations <= 0) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + port + environment.getProperty("server.servlet.context-path", "")
+                + "/api/students";
+        List<Student> existing = studentRepository.findAll(PageRequest.of(0, 1)).getContent();
+        long id = existing.isEmpty() ? 0 : existing.get(0).getId();
+        String email = existing.isEmpty() ? "warm-up-missing@example.com" : existing.get(0).getEmail();
+        int found = existing.isEmpty() ? 404 : 200;
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        for (int i = 0; i < httpIterations; i++) {
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl)).POST(json(INVALID_STUDENT_JSON)), 400);
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET(), found);
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/email/"
+                    + URLEncoder.encode(email, StandardCharsets.UTF_8))).GET(), found);
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "?ids=" + id + ",-1")).GET(), 200);
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/batch")).POST(json("{\"ids\":[" + id + ",-1]}")), 200);
+            if (snapshotReady()) {
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/department/" + WARM_UP_DEPARTMENT)).GET(), 200);
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/count?active=true")).GET(), 200);
+            }
+            completedHttpIterations++;
+        }
+    }
+
+    private boolean snapshotReady() {
+        return studentSnapshot != null && studentSnapshot.isReady();
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private static void send(HttpClient client, HttpRequest.Builder request, int expectedStatus) {
+        HttpRequest built = request.header("Content-Type", "application/json").timeout(Duration.ofSeconds(30)).build();
+        int status;
+        try {
+            status = client.send(built, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Warm-up was interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up request " + built.method() + " " + built.uri() + " failed", e);
+        }
+        if (status != expectedStatus) {
+            throw new IllegalStateException("Warm-up request " + built.method() + " " + built.uri() + " returned "
+                    + status + " instead of " + expectedStatus);
+        }
+    }
+
+    private StudentRequestDTO scratchRequest() {
+        return new StudentRequestDTO("Warm", "Up", "warm-up-" + UUID.randomUUID() + "@example.com", "1234567890",
+                LocalDate.of(2000, 1, 1), "1 Warm-up St", "Physics", 2024);
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+
+    private <T> T readJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up deserialization failed", e);
+        }
+    }
+}
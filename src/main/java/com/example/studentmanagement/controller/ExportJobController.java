@@ -0,0 +1,58 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.dto.ExportJobStatusDTO;
+import com.example.studentmanagement.export.StudentExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportJobController {
+
+    @Autowired
+    private StudentExportService studentExportService;
+
+    // START - Export all students to compressed CSV part files in the background
+    @PostMapping
+    public ResponseEntity<ExportJobStatusDTO> startExport() {
+        try {
+            ExportJobStatusDTO job = studentExportService.startExport();
+            return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    // READ - List export jobs
+    @GetMapping
+    public ResponseEntity<List<ExportJobStatusDTO>> getJobs() {
+        return new ResponseEntity<>(studentExportService.getJobs(), HttpStatus.OK);
+    }
+
+    // READ - Export job status and throughput
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJobStatusDTO> getStatus(@PathVariable String jobId) {
+        try {
+            ExportJobStatusDTO job = studentExportService.getStatus(jobId);
+            return new ResponseEntity<>(job, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // CANCEL - Stop a running export job
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<ExportJobStatusDTO> cancel(@PathVariable String jobId) {
+        try {
+            ExportJobStatusDTO job = studentExportService.cancel(jobId);
+            return new ResponseEntity<>(job, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.StudentBatchRequestDTO;
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
 import com.example.studentmanagement.dto.StudentRequestDTO;
 import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import com.example.studentmanagement.executor.DatabaseExecutor;
 import com.example.studentmanagement.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/students")
@@ -19,103 +25,190 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    // Service calls run on the database pool so servlet threads are released while they wait for MySQL.
+    // A request that times out gets 503, but work that had already started keeps running: a create,
+    // update or delete may still commit after the client was told it failed, so clients should look
+    // the student up before retrying a write.
+    @Autowired
+    private DatabaseExecutor databaseExecutor;
+
     // CREATE - Add a new student
     @PostMapping
-    public ResponseEntity<StudentResponseDTO> createStudent(@Valid @RequestBody StudentRequestDTO studentRequestDTO) {
-        try {
-            StudentResponseDTO createdStudent = studentService.createStudent(studentRequestDTO);
-            return new ResponseEntity<>(createdStudent, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> createStudent(@Valid @RequestBody StudentRequestDTO studentRequestDTO) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO createdStudent = studentService.createStudent(studentRequestDTO);
+                return new ResponseEntity<>(createdStudent, HttpStatus.CREATED);
+            } catch (DuplicateEmailException e) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            } catch (ServiceOverloadedException e) {
+                // A full group-commit queue or a group-commit timeout; GlobalExceptionHandler answers 503
+                throw e;
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
     // READ - Get all students
     @GetMapping
-    public ResponseEntity<List<StudentResponseDTO>> getAllStudents() {
-        try {
-            List<StudentResponseDTO> students = studentService.getAllStudents();
-            return new ResponseEntity<>(students, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public CompletableFuture<ResponseEntity<List<StudentResponseDTO>>> getAllStudents() {
+        return databaseExecutor.supply(() -> {
+            try {
+                List<StudentResponseDTO> students = studentService.getAllStudents();
+                return new ResponseEntity<>(students, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+    }
+
+    // READ - Get several students by ID, e.g. /api/students?ids=1,2,3
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<StudentBatchResponseDTO>> getStudentsByIds(@RequestParam List<Long> ids) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentBatchResponseDTO students = studentService.getStudentsByIds(ids);
+                return new ResponseEntity<>(students, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    // READ - Get several students by ID, for id sets too large for a query string
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<StudentBatchResponseDTO>> getStudentsByIdsBatch(@Valid @RequestBody StudentBatchRequestDTO batchRequestDTO) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentBatchResponseDTO students = studentService.getStudentsByIds(batchRequestDTO.getIds());
+                return new ResponseEntity<>(students, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
     // READ - Get student by ID
     @GetMapping("/{id}")
-    public ResponseEntity<StudentResponseDTO> getStudentById(@PathVariable Long id) {
-        try {
-            StudentResponseDTO student = studentService.getStudentById(id);
-            return new ResponseEntity<>(student, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> getStudentById(@PathVariable Long id) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO student = studentService.getStudentById(id);
+                return new ResponseEntity<>(student, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     // READ - Get student by email
     @GetMapping("/email/{email}")
-    public ResponseEntity<StudentResponseDTO> getStudentByEmail(@PathVariable String email) {
-        try {
-            StudentResponseDTO student = studentService.getStudentByEmail(email);
-            return new ResponseEntity<>(student, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> getStudentByEmail(@PathVariable String email) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO student = studentService.getStudentByEmail(email);
+                return new ResponseEntity<>(student, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     // READ - Get active students
     @GetMapping("/active")
-    public ResponseEntity<List<StudentResponseDTO>> getActiveStudents() {
-        try {
-            List<StudentResponseDTO> students = studentService.getActiveStudents();
-            return new ResponseEntity<>(students, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public CompletableFuture<ResponseEntity<List<StudentResponseDTO>>> getActiveStudents() {
+        return databaseExecutor.supply(() -> {
+            try {
+                List<StudentResponseDTO> students = studentService.getActiveStudents();
+                return new ResponseEntity<>(students, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+    }
+
+    // READ - Get students in a department
+    @GetMapping("/department/{department}")
+    public CompletableFuture<ResponseEntity<List<StudentResponseDTO>>> getStudentsByDepartment(@PathVariable String department) {
+        return databaseExecutor.supply(() -> {
+            try {
+                List<StudentResponseDTO> students = studentService.getStudentsByDepartment(department);
+                return new ResponseEntity<>(students, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+    }
+
+    // READ - Count students, e.g. /api/students/count?active=true&department=Physics
+    @GetMapping("/count")
+    public CompletableFuture<ResponseEntity<Long>> countStudents(@RequestParam(required = false) Boolean active,
+                                                                 @RequestParam(required = false) String department) {
+        return databaseExecutor.supply(() -> {
+            try {
+                long count = studentService.countStudents(active, department);
+                return new ResponseEntity<>(count, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     // UPDATE - Update student
     @PutMapping("/{id}")
-    public ResponseEntity<StudentResponseDTO> updateStudent(@PathVariable Long id, 
-                                                         @Valid @RequestBody StudentRequestDTO studentRequestDTO) {
-        try {
-            StudentResponseDTO updatedStudent = studentService.updateStudent(id, studentRequestDTO);
-            return new ResponseEntity<>(updatedStudent, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> updateStudent(@PathVariable Long id, 
+                                                                                 @Valid @RequestBody StudentRequestDTO studentRequestDTO) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO updatedStudent = studentService.updateStudent(id, studentRequestDTO);
+                return new ResponseEntity<>(updatedStudent, HttpStatus.OK);
+            } catch (DuplicateEmailException e) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     // DELETE - Delete student
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
-        try {
-            studentService.deleteStudent(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<Void>> deleteStudent(@PathVariable Long id) {
+        return databaseExecutor.supply(() -> {
+            try {
+                studentService.deleteStudent(id);
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     // SOFT DELETE - Deactivate student
     @PatchMapping("/{id}/deactivate")
-    public ResponseEntity<StudentResponseDTO> deactivateStudent(@PathVariable Long id) {
-        try {
-            StudentResponseDTO deactivatedStudent = studentService.deactivateStudent(id);
-            return new ResponseEntity<>(deactivatedStudent, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> deactivateStudent(@PathVariable Long id) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO deactivatedStudent = studentService.deactivateStudent(id);
+                return new ResponseEntity<>(deactivatedStudent, HttpStatus.OK);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     // ACTIVATE - Activate student
     @PatchMapping("/{id}/activate")
-    public ResponseEntity<StudentResponseDTO> activateStudent(@PathVariable Long id) {
-        try {
-            StudentResponseDTO activatedStudent = studentService.activateStudent(id);
-            return new ResponseEntity<>(activatedStudent, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public CompletableFuture<ResponseEntity<StudentResponseDTO>> activateStudent(@PathVariable Long id) {
+        return databaseExecutor.supply(() -> {
+            try {
+                StudentResponseDTO activatedStudent = studentService.activateStudent(id);
+                return new ResponseEntity<>(activatedStudent, HttpStatus.OK);
+            } catch (DuplicateEmailException e) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        });
     }
 }
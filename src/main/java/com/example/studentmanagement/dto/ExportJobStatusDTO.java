@@ -0,0 +1,149 @@
+package com.example.studentmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public class ExportJobStatusDTO {
+
+    private String id;
+    private String state;
+    private String directory;
+    private int parallelism;
+    private int totalParts;
+    private int completedParts;
+    private long rowsExported;
+    private long rowsPerSecond;
+    private long elapsedMillis;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    // Default constructor
+    public ExportJobStatusDTO() {}
+
+    // Constructor with fields
+    public ExportJobStatusDTO(String id, String state, String directory, int parallelism, int totalParts,
+                              int completedParts, long rowsExported, long rowsPerSecond, long elapsedMillis,
+                              LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.id = id;
+        this.state = state;
+        this.directory = directory;
+        this.parallelism = parallelism;
+        this.totalParts = totalParts;
+        this.completedParts = completedParts;
+        this.rowsExported = rowsExported;
+        this.rowsPerSecond = rowsPerSecond;
+        this.elapsedMillis = elapsedMillis;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getTotalParts() {
+        return totalParts;
+    }
+
+    public void setTotalParts(int totalParts) {
+        this.totalParts = totalParts;
+    }
+
+    public int getCompletedParts() {
+        return completedParts;
+    }
+
+    public void setCompletedParts(int completedParts) {
+        this.completedParts = completedParts;
+    }
+
+    public long getRowsExported() {
+        return rowsExported;
+    }
+
+    public void setRowsExported(long rowsExported) {
+        this.rowsExported = rowsExported;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportJobStatusDTO{" +
+                "id='" + id + '\'' +
+                ", state='" + state + '\'' +
+                ", completedParts=" + completedParts +
+                ", totalParts=" + totalParts +
+                ", rowsExported=" + rowsExported +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.studentmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class StudentBatchRequestDTO {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<Long> ids;
+
+    // Default constructor
+    public StudentBatchRequestDTO() {}
+
+    // Constructor with fields
+    public StudentBatchRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentBatchRequestDTO{" +
+                "ids=" + ids +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.studentmanagement.dto;
+
+import java.util.List;
+
+public class StudentBatchResponseDTO {
+
+    private List<StudentResponseDTO> students;
+    private List<Long> missingIds;
+
+    // Default constructor
+    public StudentBatchResponseDTO() {}
+
+    // Constructor with fields
+    public StudentBatchResponseDTO(List<StudentResponseDTO> students, List<Long> missingIds) {
+        this.students = students;
+        this.missingIds = missingIds;
+    }
+
+    // Getters and Setters
+    public List<StudentResponseDTO> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<StudentResponseDTO> students) {
+        this.students = students;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentBatchResponseDTO{" +
+                "students=" + students +
+                ", missingIds=" + missingIds +
+                '}';
+    }
+}
@@ -1,56 +1,41 @@
 package com.example.studentmanagement.entity;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 
+// Requests are validated once, as StudentRequestDTO in the controller; column definitions match the
+// db/migration schema and Hibernate's pre-persist validation is off (jakarta.persistence.validation.mode=none)
 @Entity
-@Table(name = "students")
+@Table(name = "students",
+        indexes = @Index(name = "idx_students_active_updated_at", columnList = "is_active, updated_at"))
 public class Student {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NotBlank(message = "First name is required")
-    @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
-    @Column(name = "first_name", nullable = false)
+    @Column(name = "first_name", nullable = false, length = 50)
     private String firstName;
 
-    @NotBlank(message = "Last name is required")
-    @Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters")
-    @Column(name = "last_name", nullable = false)
+    @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
-    @NotBlank(message = "Email is required")
-    @Email(message = "Please provide a valid email address")
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
-    @NotBlank(message = "Phone number is required")
-    @Pattern(regexp = "^[0-9]{10}$", message = "Phone number must be 10 digits")
     @Column(name = "phone_number")
     private String phoneNumber;
 
-    @NotNull(message = "Date of birth is required")
-    @Past(message = "Date of birth must be in the past")
-    @Column(name = "date_of_birth")
+    @Column(name = "date_of_birth", nullable = false)
     private LocalDate dateOfBirth;
 
-    @NotBlank(message = "Address is required")
-    @Size(max = 200, message = "Address cannot exceed 200 characters")
-    @Column(name = "address")
+    @Column(name = "address", length = 200)
     private String address;
 
-    @NotBlank(message = "Department is required")
-    @Size(max = 100, message = "Department cannot exceed 100 characters")
-    @Column(name = "department")
+    @Column(name = "department", length = 100)
     private String department;
 
-    @NotNull(message = "Enrollment year is required")
-    @Min(value = 2000, message = "Enrollment year must be 2000 or later")
-    @Max(value = 2030, message = "Enrollment year cannot exceed 2030")
-    @Column(name = "enrollment_year")
+    @Column(name = "enrollment_year", nullable = false)
     private Integer enrollmentYear;
 
     @Column(name = "is_active")
@@ -0,0 +1,125 @@
+package com.example.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Outbox record of a committed change to a student, read by every instance to invalidate its caches
+@Entity
+@Table(name = "student_change_events",
+        indexes = @Index(name = "idx_student_change_events_created_at", columnList = "created_at"))
+public class StudentChangeEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, ARCHIVED, RESTORED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "email")
+    private String email;
+
+    // Email before an update changed it, so email-keyed caches can evict the old key too
+    @Column(name = "previous_email")
+    private String previousEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    // Instance that made the change; it has already updated its own caches
+    @Column(name = "origin_id", nullable = false, length = 64)
+    private String originId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public StudentChangeEvent() {
+    }
+
+    // Constructor with fields
+    public StudentChangeEvent(Long studentId, String email, String previousEmail, ChangeType changeType,
+                              String originId, LocalDateTime createdAt) {
+        this.studentId = studentId;
+        this.email = email;
+        this.previousEmail = previousEmail;
+        this.changeType = changeType;
+        this.originId = originId;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPreviousEmail() {
+        return previousEmail;
+    }
+
+    public void setPreviousEmail(String previousEmail) {
+        this.previousEmail = previousEmail;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getOriginId() {
+        return originId;
+    }
+
+    public void setOriginId(String originId) {
+        this.originId = originId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentChangeEvent{" +
+                "id=" + id +
+                ", studentId=" + studentId +
+                ", email='" + email + '\'' +
+                ", previousEmail='" + previousEmail + '\'' +
+                ", changeType=" + changeType +
+                ", originId='" + originId + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
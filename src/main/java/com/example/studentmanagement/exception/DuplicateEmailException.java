@@ -0,0 +1,38 @@
+package com.example.studentmanagement.exception;
+
+import java.sql.SQLException;
+
+// A student with this email already exists; mapped to 409 Conflict
+public class DuplicateEmailException extends RuntimeException {
+
+    // MySQL ER_DUP_ENTRY; its SQLState 23000 is shared with other integrity violations
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    // Standard SQLState for unique violations (H2, PostgreSQL)
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final String email;
+
+    public DuplicateEmailException(String email) {
+        super("A student with email " + email + " already exists");
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    // True if the failure is a unique-key violation reported by the database
+    public static boolean isUniqueViolation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && (sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY
+                    || UNIQUE_VIOLATION.equals(sqlException.getSQLState()))) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
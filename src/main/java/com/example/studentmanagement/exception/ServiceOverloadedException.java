@@ -0,0 +1,9 @@
+package com.example.studentmanagement.exception;
+
+// The request could not get database capacity in time (queue full or timed out); mapped to 503 Service Unavailable
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.studentmanagement.executor;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import com.example.studentmanagement.monitoring.ServerTiming;
+import com.example.studentmanagement.monitoring.SqlMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work for HTTP requests off the servlet threads.
+ *
+ * The pool has one thread per connection in the pool and a bounded queue; with write coalescing
+ * it also gets one thread per group-commit slot, because a create waiting for its batch holds a
+ * thread but no connection and would otherwise cap a batch at the pool size. When the queue is full
+ * a request fails at once with ServiceOverloadedException instead of waiting for a thread, and a
+ * request whose work has not finished within the timeout fails the same way. Work that timed out
+ * while still queued is dropped from the queue; work already running finishes (and commits), but
+ * its result is discarded.
+ */
+@Component
+public class DatabaseExecutor {
+
+    @Value("${app.db-executor.enabled:true}")
+    private boolean enabled;
+
+    // 0 = connection pool size, plus the group-commit batch size with write coalescing
+    @Value("${app.db-executor.threads:0}")
+    private int configuredThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${app.write-coalescing.enabled:false}")
+    private boolean writeCoalescingEnabled;
+
+    @Value("${app.write-coalescing.max-batch-size:100}")
+    private int writeCoalescingMaxBatchSize;
+
+    @Value("${app.db-executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.db-executor.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+    private ScheduledThreadPoolExecutor timer;
+
+    @PostConstruct
+    void initExecutor() {
+        int threads = threadCount();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "db-executor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "db-executor-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        // Start the threads now rather than on the first requests after startup
+        executor.prestartAllCoreThreads();
+    }
+
+    int threadCount() {
+        if (configuredThreads > 0) {
+            return configuredThreads;
+        }
+        return writeCoalescingEnabled ? connectionPoolSize + Math.max(1, writeCoalescingMaxBatchSize) : connectionPoolSize;
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    // Run the work on the database pool; the future fails with ServiceOverloadedException on overload or timeout
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<SqlMetrics> windows = SqlMetrics.capture();
+        ServerTiming timing = ServerTiming.current();
+        Runnable task = () -> run(work, result, windows, timing);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many requests waiting for the database, try again later");
+        }
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            // Free the queue slot first if the work has not started yet, so it is free once the caller sees the failure
+            executor.remove(task);
+            result.completeExceptionally(new ServiceOverloadedException(
+                    "Timed out after " + timeoutMillis + " ms waiting for the database"));
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> timeout.cancel(false));
+        return result;
+    }
+
+    // Requests waiting for a thread
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    private <T> void run(Supplier<T> work, CompletableFuture<T> result, List<SqlMetrics> windows, ServerTiming timing) {
+        if (result.isDone()) {
+            return;
+        }
+        try (SqlMetrics.Scope sqlScope = SqlMetrics.attach(windows);
+             SqlMetrics.Scope timingScope = ServerTiming.attach(timing)) {
+            result.complete(work.get());
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
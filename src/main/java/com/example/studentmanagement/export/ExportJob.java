@@ -0,0 +1,163 @@
+package com.example.studentmanagement.export;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Mutable state of one export run, shared by the worker threads scanning its id ranges
+public class ExportJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final Path directory;
+    private final int totalParts;
+    private final int parallelism;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final AtomicInteger completedParts = new AtomicInteger();
+    private final AtomicLong rowsExported = new AtomicLong();
+    private final List<Future<?>> partFutures = new CopyOnWriteArrayList<>();
+    private volatile State state = State.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    // Parts currently running; guarded by this
+    private int activeParts;
+    private boolean cleanupClaimed;
+
+    public ExportJob(String id, Path directory, int totalParts, int parallelism) {
+        this.id = id;
+        this.directory = directory;
+        this.totalParts = totalParts;
+        this.parallelism = parallelism;
+    }
+
+    void addPartFuture(Future<?> future) {
+        partFutures.add(future);
+    }
+
+    // Register a part that is about to run; false once the job has finished
+    synchronized boolean partStarted() {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        activeParts++;
+        return true;
+    }
+
+    // Unregister a part; true when it was the last one of a cancelled or failed job and its files may be deleted
+    synchronized boolean partStopped() {
+        activeParts--;
+        return claimCleanup();
+    }
+
+    // True exactly once, when the job was cancelled or failed and no part is still writing
+    synchronized boolean claimCleanup() {
+        if (cleanupClaimed || activeParts > 0 || state == State.RUNNING || state == State.COMPLETED) {
+            return false;
+        }
+        cleanupClaimed = true;
+        return true;
+    }
+
+    synchronized int getActiveParts() {
+        return activeParts;
+    }
+
+    void partCompleted() {
+        if (completedParts.incrementAndGet() == totalParts) {
+            finish(State.COMPLETED, null);
+        }
+    }
+
+    void addRows(long rows) {
+        rowsExported.addAndGet(rows);
+    }
+
+    void fail(String message) {
+        finish(State.FAILED, message);
+        cancelParts();
+    }
+
+    void cancel() {
+        cancelRequested = true;
+        finish(State.CANCELLED, null);
+        cancelParts();
+    }
+
+    private synchronized void finish(State finalState, String message) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        state = finalState;
+        error = message;
+        finishedAt = LocalDateTime.now();
+        finishedNanos = System.nanoTime();
+    }
+
+    private void cancelParts() {
+        for (Future<?> future : partFutures) {
+            future.cancel(true);
+        }
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested || state != State.RUNNING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getTotalParts() {
+        return totalParts;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getCompletedParts() {
+        return completedParts.get();
+    }
+
+    public long getRowsExported() {
+        return rowsExported.get();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getElapsedMillis() {
+        long end = state == State.RUNNING ? System.nanoTime() : finishedNanos;
+        return (end - startedNanos) / 1_000_000;
+    }
+
+    public long getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : rowsExported.get() * 1000 / elapsed;
+    }
+}
@@ -0,0 +1,403 @@
+package com.example.studentmanagement.export;
+
+import com.example.studentmanagement.dto.ExportJobStatusDTO;
+import com.example.studentmanagement.monitoring.DataSourceInstrumentationPostProcessor;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import com.example.studentmanagement.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the students table to gzip-compressed CSV part files in the background.
+ *
+ * The id space is cut into ranges that are scanned in parallel on a bounded pool. Each range uses
+ * its own connection and a streaming cursor (fetch size) and is written to its own part file, so
+ * a full export never holds a request thread or buffers the table in memory.
+ *
+ * Ranges are read through a separate, small connection pool per shard (app.export.max-connections,
+ * which also caps the parallelism), so an export never takes connections from request traffic.
+ * On MySQL its URL adds useCursorFetch=true, which Connector/J needs to stream with a fetch size but
+ * which also switches every statement to server-side prepared statements, so it is kept off the
+ * application's pool.
+ * Part files of cancelled or failed jobs are deleted once their last running part has stopped;
+ * finished jobs and their files are dropped after app.export.retention-minutes.
+ */
+@Service
+public class StudentExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentExportService.class);
+
+    private static final String[] COLUMNS = {
+            "id", "first_name", "last_name", "email", "phone_number", "date_of_birth", "address",
+            "department", "enrollment_year", "is_active", "created_at", "updated_at"
+    };
+
+    // How often (in rows) a part publishes its progress to the job
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    // Present only with app.sharding.enabled=true
+    @Autowired(required = false)
+    private ShardingProperties shardingProperties;
+
+    // The export pools are not beans, so they are wrapped here to show up in the SQL metrics and slow-query log
+    @Autowired
+    private DataSourceInstrumentationPostProcessor sqlInstrumentation;
+
+    @Value("${app.export.directory:exports}")
+    private String exportDirectory;
+
+    // 0 = available cores; never more than max-connections
+    @Value("${app.export.parallelism:0}")
+    private int configuredParallelism;
+
+    // Size of each export pool (one per shard); these connections come on top of the application's pool
+    @Value("${app.export.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${app.export.parts-per-worker:4}")
+    private int partsPerWorker;
+
+    @Value("${app.export.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Finished jobs (and their part files) are kept this long
+    @Value("${app.export.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    // Export connection pools by shard (-1 = unsharded)
+    private final Map<Integer, HikariDataSource> exportDataSources = new HashMap<>();
+    private final Map<Integer, JdbcTemplate> exportTemplates = new HashMap<>();
+    private ThreadPoolExecutor executor;
+    private int parallelism;
+
+    @PostConstruct
+    void initExecutor() {
+        if (maxConnections < 1) {
+            throw new IllegalStateException("app.export.max-connections must be at least 1, was " + maxConnections);
+        }
+        // A worker holds one connection for its whole range, so more workers than connections would only wait
+        parallelism = Math.min(maxConnections,
+                configuredParallelism > 0 ? configuredParallelism : Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-export-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        if (shardingProperties == null) {
+            addExportDataSource(-1, dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+        } else {
+            for (int shard = 0; shard < shardingProperties.getShards().size(); shard++) {
+                ShardingProperties.Shard config = shardingProperties.getShards().get(shard);
+                addExportDataSource(shard, config.getUrl(), config.getUsername(), config.getPassword());
+            }
+        }
+    }
+
+    // Connections are only opened while an export runs and are closed again after a minute idle
+    private void addExportDataSource(int shard, String url, String username, String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(cursorFetchUrl(url))
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(shard < 0 ? "export" : "export-shard-" + shard);
+        dataSource.setMaximumPoolSize(maxConnections);
+        dataSource.setMinimumIdle(0);
+        dataSource.setIdleTimeout(TimeUnit.MINUTES.toMillis(1));
+        exportDataSources.put(shard, dataSource);
+        exportTemplates.put(shard, new JdbcTemplate(sqlInstrumentation.instrument(dataSource)));
+    }
+
+    // Connector/J only streams with a fetch size when cursor fetch is on; other drivers stream without it
+    static String cursorFetchUrl(String url) {
+        if (url == null || !url.startsWith("jdbc:mysql:") || url.contains("useCursorFetch=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        jobs.values().forEach(ExportJob::cancel);
+        executor.shutdownNow();
+        exportDataSources.values().forEach(HikariDataSource::close);
+    }
+
+    public ExportJobStatusDTO startExport() {
+        String jobId = UUID.randomUUID().toString();
+        Path directory = Paths.get(exportDirectory, jobId).toAbsolutePath();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export directory " + directory, e);
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        if (shardRouter == null) {
+            ranges.addAll(partitionShard(null));
+        } else {
+            for (int shard : shardRouter.shardIndexes()) {
+                ranges.addAll(ShardContext.callOn(shard, () -> partitionShard(shard)));
+            }
+        }
+        if (ranges.isEmpty()) {
+            // No students: one empty id range still writes a header-only part, and the job completes with zero rows
+            ranges.add(new long[]{0, -1, shardRouter == null ? -1 : shardRouter.shardIndexes().get(0)});
+        }
+        ExportJob job = new ExportJob(jobId, directory, ranges.size(), parallelism);
+        jobs.put(jobId, job);
+
+        try {
+            for (int part = 0; part < ranges.size(); part++) {
+                long[] range = ranges.get(part);
+                Path file = directory.resolve(String.format("part-%05d.csv.gz", part));
+                Integer shard = range[2] < 0 ? null : (int) range[2];
+                job.addPartFuture(executor.submit(() -> runPart(job, shard, range[0], range[1], file)));
+            }
+        } catch (RejectedExecutionException e) {
+            failAndCleanUp(job, "Export queue is full, try again later");
+            throw new RuntimeException("Export queue is full, try again later");
+        }
+        log.info("Export {} started: {} id ranges on {} workers into {}", jobId, ranges.size(), parallelism, directory);
+        return toStatusDTO(job);
+    }
+
+    public ExportJobStatusDTO getStatus(String jobId) {
+        return toStatusDTO(findJob(jobId));
+    }
+
+    public List<ExportJobStatusDTO> getJobs() {
+        List<ExportJobStatusDTO> statuses = new ArrayList<>();
+        jobs.values().stream()
+                .sorted(Comparator.comparing(ExportJob::getStartedAt))
+                .forEach(job -> statuses.add(toStatusDTO(job)));
+        return statuses;
+    }
+
+    public ExportJobStatusDTO cancel(String jobId) {
+        ExportJob job = findJob(jobId);
+        job.cancel();
+        if (job.claimCleanup()) {
+            deleteFiles(job);
+        }
+        return toStatusDTO(job);
+    }
+
+    // Drop jobs that finished more than retention-minutes ago, together with their part files
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval-ms:600000}")
+    public void expireFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        for (ExportJob job : jobs.values()) {
+            LocalDateTime finishedAt = job.getFinishedAt();
+            if (finishedAt != null && finishedAt.isBefore(cutoff) && job.getActiveParts() == 0) {
+                jobs.remove(job.getId());
+                deleteFiles(job);
+                log.info("Export {} expired ({} finished at {})", job.getId(), job.getState(), finishedAt);
+            }
+        }
+    }
+
+    private void failAndCleanUp(ExportJob job, String message) {
+        job.fail(message);
+        if (job.claimCleanup()) {
+            deleteFiles(job);
+        }
+    }
+
+    private void deleteFiles(ExportJob job) {
+        Path directory = job.getDirectory();
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete files of export {} in {}: {}", job.getId(), directory, e.getMessage());
+        }
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Export job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    // Split the shard's [min id, max id] into equally wide, inclusive id ranges of {from, to, shard (-1 = unsharded)}
+    private List<long[]> partitionShard(Integer shard) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM students");
+        Number min = (Number) bounds.get("min_id");
+        Number max = (Number) bounds.get("max_id");
+        if (min == null) {
+            return List.of();
+        }
+        long minId = min.longValue();
+        long maxId = max.longValue();
+        long span = maxId - minId + 1;
+        int parts = (int) Math.max(1, Math.min(span, (long) parallelism * partsPerWorker));
+        long width = (span + parts - 1) / parts;
+        List<long[]> ranges = new ArrayList<>(parts);
+        for (long from = minId; from <= maxId; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width - 1, maxId), shard == null ? -1 : shard});
+        }
+        return ranges;
+    }
+
+    // Runs one id range; the last part to stop after a cancel or failure deletes the job's files
+    private void runPart(ExportJob job, Integer shard, long fromId, long toId, Path file) {
+        if (!job.partStarted()) {
+            return;
+        }
+        try {
+            exportRange(job, exportTemplates.get(shard == null ? -1 : shard), fromId, toId, file);
+        } finally {
+            if (job.partStopped()) {
+                deleteFiles(job);
+            }
+        }
+    }
+
+    private void exportRange(ExportJob job, JdbcTemplate exportTemplate, long fromId, long toId, Path file) {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+            long[] pendingRows = {0};
+            exportTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT " + String.join(", ", COLUMNS) + " FROM students WHERE id BETWEEN ? AND ? ORDER BY id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, fromId);
+                statement.setLong(2, toId);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                if (job.isCancelRequested()) {
+                    throw new CancellationException();
+                }
+                writeRow(writer, resultSet);
+                if (++pendingRows[0] == PROGRESS_INTERVAL) {
+                    job.addRows(pendingRows[0]);
+                    pendingRows[0] = 0;
+                }
+            });
+            job.addRows(pendingRows[0]);
+        } catch (CancellationException e) {
+            return;
+        } catch (IOException | RuntimeException e) {
+            if (!job.isCancelRequested()) {
+                log.error("Export {} failed on id range [{}, {}]", job.getId(), fromId, toId, e);
+                job.fail("Id range [" + fromId + ", " + toId + "] failed: " + e.getMessage());
+            }
+            return;
+        }
+        job.partCompleted();
+        if (job.getState() == ExportJob.State.COMPLETED) {
+            log.info("Export {} completed: {} rows in {} ms ({} rows/s)", job.getId(), job.getRowsExported(),
+                    job.getElapsedMillis(), job.getRowsPerSecond());
+        }
+    }
+
+    private void writeRow(Writer writer, ResultSet resultSet) throws SQLException {
+        try {
+            for (int column = 1; column <= COLUMNS.length; column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                Object value = resultSet.getObject(column);
+                if (value != null) {
+                    writer.write(csvField(value.toString()));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private ExportJobStatusDTO toStatusDTO(ExportJob job) {
+        return new ExportJobStatusDTO(
+                job.getId(),
+                job.getState().name(),
+                job.getDirectory().toString(),
+                job.getParallelism(),
+                job.getTotalParts(),
+                job.getCompletedParts(),
+                job.getRowsExported(),
+                job.getRowsPerSecond(),
+                job.getElapsedMillis(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
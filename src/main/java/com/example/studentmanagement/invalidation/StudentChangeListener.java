@@ -0,0 +1,16 @@
+package com.example.studentmanagement.invalidation;
+
+import com.example.studentmanagement.entity.StudentChangeEvent;
+
+// Receives changes made by other instances from the invalidation bus
+public interface StudentChangeListener {
+
+    // A student was created, updated or deleted on another instance
+    void onStudentChanged(StudentChangeEvent event);
+
+    // Polling has failed for longer than the staleness bound; drop everything that may be stale
+    void onStale();
+
+    // Polling works again after onStale(); cached state may be rebuilt
+    void onResynced();
+}
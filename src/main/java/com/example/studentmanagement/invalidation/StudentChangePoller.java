@@ -0,0 +1,192 @@
+package com.example.studentmanagement.invalidation;
+
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.repository.StudentChangeEventRepository;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reads the student change outbox and hands other instances' changes to local listeners.
+ *
+ * Each shard (or the single database) has a high-water-mark cursor: the highest event id seen.
+ * Events after it are fetched in id order, a batch at a time. Ids are allocated at insert but
+ * become visible at commit, so an id that is skipped while later ids are already visible is kept
+ * as a gap and looked up again on later polls, until it shows up or the gap times out (rolled
+ * back transactions leave permanent gaps).
+ *
+ * If polling keeps failing for longer than app.invalidation.max-staleness-ms, listeners are told
+ * to drop their state, and told again once polling has caught up.
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true")
+public class StudentChangePoller {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentChangePoller.class);
+
+    // Unsharded database key in the cursor map
+    private static final int SINGLE_DATABASE = -1;
+
+    // Larger id jumps are not tracked as gaps (e.g. after a restart of the auto-increment counter)
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    @Autowired
+    private StudentChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private StudentChangePublisher changePublisher;
+
+    @Autowired(required = false)
+    private List<StudentChangeListener> listeners = List.of();
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${app.invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.invalidation.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    @Value("${app.invalidation.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${app.invalidation.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<Integer, Cursor> cursors = new HashMap<>();
+    private volatile long lastCaughtUpAt = System.currentTimeMillis();
+    private volatile boolean stale;
+
+    @Scheduled(fixedDelayString = "${app.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        try {
+            for (int shard : shards()) {
+                pollShard(shard);
+            }
+        } catch (RuntimeException e) {
+            long behindMs = System.currentTimeMillis() - lastCaughtUpAt;
+            log.warn("Polling student changes failed ({} ms since last successful poll): {}", behindMs, e.getMessage());
+            if (!stale && behindMs > maxStalenessMs) {
+                stale = true;
+                log.error("Student change polling has failed for {} ms (bound {} ms), invalidating all cached students",
+                        behindMs, maxStalenessMs);
+                notifyListeners(StudentChangeListener::onStale);
+            }
+            return;
+        }
+        lastCaughtUpAt = System.currentTimeMillis();
+        if (stale) {
+            stale = false;
+            log.info("Student change polling recovered, caches may be rebuilt");
+            notifyListeners(StudentChangeListener::onResynced);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidation.cleanup-interval-ms:600000}",
+            initialDelayString = "${app.invalidation.cleanup-interval-ms:600000}")
+    public void purgeExpiredEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int deleted = 0;
+        for (int shard : shards()) {
+            deleted += onShard(shard, () -> changeEventRepository.deleteOlderThan(cutoff));
+        }
+        log.debug("Purged {} student change events older than {}", deleted, cutoff);
+    }
+
+    // Time of the last poll that read every shard up to date
+    public long getLastCaughtUpAt() {
+        return lastCaughtUpAt;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    private void pollShard(int shard) {
+        Cursor cursor = cursors.get(shard);
+        if (cursor == null) {
+            // Start from the current end; anything older is already reflected in what this instance loads
+            cursors.put(shard, new Cursor(onShard(shard, changeEventRepository::findMaxId)));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!cursor.gaps.isEmpty()) {
+            List<Long> gapIds = new ArrayList<>(cursor.gaps.keySet());
+            for (StudentChangeEvent event : onShard(shard, () -> changeEventRepository.findByIdIn(gapIds))) {
+                cursor.gaps.remove(event.getId());
+                dispatch(event);
+            }
+            cursor.gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+        }
+
+        List<StudentChangeEvent> batch;
+        do {
+            long position = cursor.position;
+            batch = onShard(shard, () -> changeEventRepository.findByIdGreaterThanOrderByIdAsc(position,
+                    PageRequest.of(0, batchSize)));
+            for (StudentChangeEvent event : batch) {
+                long missing = event.getId() - cursor.position - 1;
+                if (missing > 0 && missing <= MAX_TRACKED_GAP) {
+                    for (long id = cursor.position + 1; id < event.getId(); id++) {
+                        cursor.gaps.put(id, now);
+                    }
+                }
+                cursor.position = event.getId();
+                dispatch(event);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void dispatch(StudentChangeEvent event) {
+        if (changePublisher.getInstanceId().equals(event.getOriginId())) {
+            return;
+        }
+        notifyListeners(listener -> listener.onStudentChanged(event));
+    }
+
+    private void notifyListeners(Consumer<StudentChangeListener> action) {
+        for (StudentChangeListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Student change listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private List<Integer> shards() {
+        return shardRouter == null ? List.of(SINGLE_DATABASE) : shardRouter.shardIndexes();
+    }
+
+    private <T> T onShard(int shard, Supplier<T> work) {
+        return shard == SINGLE_DATABASE ? work.get() : ShardContext.callOn(shard, work);
+    }
+
+    private static class Cursor {
+        private long position;
+        // Skipped event id -> time it was first seen missing
+        private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+        Cursor(long position) {
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.studentmanagement.invalidation;
+
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.repository.StudentChangeEventRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Writes outbox records for student changes.
+ *
+ * Must be called inside the transaction of the change itself, so a record exists exactly when the
+ * change commits. Records carry this instance's id so its own poller can skip them. Work that is
+ * always rolled back (warm-up) runs inside withoutPublishing: a rolled-back insert still uses up an
+ * outbox id, and every poller would wait for that id as a gap.
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true")
+public class StudentChangePublisher {
+
+    @Autowired
+    private StudentChangeEventRepository changeEventRepository;
+
+    @Value("${app.invalidation.instance-id:#{null}}")
+    private String configuredInstanceId;
+
+    private String instanceId;
+
+    private final ThreadLocal<Boolean> suppressed = new ThreadLocal<>();
+
+    @PostConstruct
+    void initInstanceId() {
+        instanceId = configuredInstanceId != null && !configuredInstanceId.isBlank()
+                ? configuredInstanceId : UUID.randomUUID().toString();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // Run work on this thread without writing outbox records for its changes
+    public void withoutPublishing(Runnable work) {
+        suppressed.set(Boolean.TRUE);
+        try {
+            work.run();
+        } finally {
+            suppressed.remove();
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(StudentChangeEvent.ChangeType changeType, Student student, String previousEmail) {
+        publish(changeType, student.getId(), student.getEmail(), previousEmail);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(StudentChangeEvent.ChangeType changeType, Long studentId, String email, String previousEmail) {
+        if (suppressed.get() != null) {
+            return;
+        }
+        changeEventRepository.save(new StudentChangeEvent(studentId, email,
+                previousEmail != null && !previousEmail.equals(email) ? previousEmail : null,
+                changeType, instanceId, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.studentmanagement.mapper;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.ArchivedStudent;
+import com.example.studentmanagement.entity.Student;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Copies between student DTOs and entities.
+ *
+ * The implementation (StudentMapperImpl) is generated by MapStruct at compile time as plain getter
+ * and setter calls, so mapping needs no reflection at runtime. Unmapped target properties fail the
+ * build, so a field added to a DTO or entity must be mapped or ignored here explicitly.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface StudentMapper {
+
+    // A new, active student; id, createdAt and updatedAt are left to the entity and the database
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isActive", constant = "true")
+    @Mapping(target = "createdAt", expression = "java(java.time.LocalDate.now())")
+    @Mapping(target = "updatedAt", expression = "java(java.time.LocalDate.now())")
+    Student toEntity(StudentRequestDTO studentRequestDTO);
+
+    // Overwrite the editable fields of an existing student and bump updatedAt
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isActive", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", expression = "java(java.time.LocalDate.now())")
+    void updateEntity(StudentRequestDTO studentRequestDTO, @MappingTarget Student student);
+
+    StudentResponseDTO toResponseDTO(Student student);
+
+    StudentResponseDTO toResponseDTO(ArchivedStudent student);
+
+    // A separate instance with the same values, for callers sharing one loaded result
+    StudentResponseDTO copy(StudentResponseDTO responseDTO);
+}
@@ -0,0 +1,223 @@
+package com.example.studentmanagement.membership;
+
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.invalidation.StudentChangeListener;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory set of the emails in the students table, kept as seeded 64-bit hashes.
+ *
+ * Lets createStudent/updateStudent reject an email that is already taken without a database
+ * round trip. Two different emails share a hash with probability about n / 2^64, so a hit is
+ * treated as a duplicate; a miss proves nothing and the insert goes ahead, with the unique
+ * constraint as the final check. Emails are lower-cased to match MySQL's case-insensitive
+ * collation. With app.archive.enabled=true the emails of archived students are included too, as
+ * they stay taken until the student is deleted. Built at startup, then kept current by StudentServiceImpl for local writes and by
+ * the invalidation bus for other instances' writes (required when several instances run).
+ * Enable with app.email-filter.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email-filter.enabled", havingValue = "true")
+public class EmailMembershipFilter implements StudentChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailMembershipFilter.class);
+
+    // Per-process seed, so nobody can precompute colliding emails
+    private final long hashSeed = ThreadLocalRandom.current().nextLong();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${app.email-filter.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    private final Object writeLock = new Object();
+    private List<Consumer<LongHashSet>> writesDuringBuild;
+    private volatile LongHashSet hashes;
+    private volatile boolean invalidated;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    // The warm-up builds the filter before the application is ready so it can exercise it; otherwise it is built now
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (hashes == null) {
+            build();
+        }
+    }
+
+    public void build() {
+        synchronized (writeLock) {
+            writesDuringBuild = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        LongHashSet fresh = new LongHashSet();
+        try {
+            if (shardRouter == null) {
+                loadInto(fresh);
+            } else {
+                for (int shard : shardRouter.shardIndexes()) {
+                    ShardContext.runOn(shard, () -> loadInto(fresh));
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                writesDuringBuild = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            writesDuringBuild.forEach(write -> write.accept(fresh));
+            writesDuringBuild = null;
+            hashes = fresh;
+            invalidated = false;
+        }
+        log.info("Email filter built in {} ms: {}", (System.nanoTime() - started) / 1_000_000, describe());
+    }
+
+    public boolean isReady() {
+        return hashes != null && !invalidated;
+    }
+
+    // True if a student with this email (almost certainly) exists; false if unknown or not ready
+    public boolean mightContain(String email) {
+        LongHashSet current = hashes;
+        if (current == null || invalidated || email == null) {
+            return false;
+        }
+        lookups.incrementAndGet();
+        boolean hit = current.contains(hash(email));
+        if (hit) {
+            hits.incrementAndGet();
+        }
+        return hit;
+    }
+
+    public void add(String email) {
+        if (email != null) {
+            long hash = hash(email);
+            apply(set -> set.add(hash));
+        }
+    }
+
+    public void remove(String email) {
+        if (email != null) {
+            long hash = hash(email);
+            apply(set -> set.remove(hash));
+        }
+    }
+
+    @Override
+    public void onStudentChanged(StudentChangeEvent event) {
+        switch (event.getChangeType()) {
+            case DELETED -> remove(event.getEmail());
+            // An archived student's email stays taken
+            case ARCHIVED -> { }
+            default -> {
+                remove(event.getPreviousEmail());
+                add(event.getEmail());
+            }
+        }
+    }
+
+    @Override
+    public void onStale() {
+        invalidated = true;
+    }
+
+    @Override
+    public void onResynced() {
+        build();
+    }
+
+    public int size() {
+        LongHashSet current = hashes;
+        return current == null ? 0 : current.size();
+    }
+
+    public long estimatedBytes() {
+        LongHashSet current = hashes;
+        return current == null ? 0 : current.estimatedBytes();
+    }
+
+    // Chance that an email which is not taken collides with one of the stored hashes
+    public double expectedFalsePositiveRate() {
+        return size() / Math.pow(2, 64);
+    }
+
+    public String describe() {
+        int size = size();
+        long bytes = estimatedBytes();
+        return String.format("%d emails, ~%d KB (%.1f bytes/email), expected false-positive rate %.1e, %d lookups, %d hits",
+                size, bytes / 1024, size == 0 ? 0.0 : (double) bytes / size, expectedFalsePositiveRate(),
+                lookups.get(), hits.get());
+    }
+
+    private void loadInto(LongHashSet fresh) {
+        loadInto(fresh, "SELECT email FROM students");
+        if (archiveEnabled) {
+            loadInto(fresh, "SELECT email FROM archived_students");
+        }
+    }
+
+    private void loadInto(LongHashSet fresh, String sql) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> fresh.add(hash(resultSet.getString(1))));
+    }
+
+    private void apply(Consumer<LongHashSet> write) {
+        synchronized (writeLock) {
+            if (writesDuringBuild != null) {
+                writesDuringBuild.add(write);
+            }
+            if (hashes != null) {
+                write.accept(hashes);
+            }
+        }
+    }
+
+    // Seeded 64-bit hash of the lower-cased email (multiply-rotate per byte, Murmur3 finalizer)
+    long hash(String email) {
+        byte[] bytes = email.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long hash = hashSeed ^ (bytes.length * 0x9E3779B97F4A7C15L);
+        for (byte b : bytes) {
+            hash = Long.rotateLeft((hash ^ (b & 0xFF)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.studentmanagement.membership;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open-addressing hash set of primitive longs, 8 bytes per slot.
+ *
+ * Linear probing over a power-of-two table kept at most half full; 0 marks an empty slot (a
+ * stored 0 is kept in a separate flag). Removal shifts the following entries back instead of
+ * leaving tombstones, so lookups never slow down after many deletes.
+ */
+public class LongHashSet {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(1024);
+    }
+
+    public LongHashSet(int expectedSize) {
+        table = new long[tableSizeFor(expectedSize)];
+    }
+
+    public boolean contains(long value) {
+        lock.readLock().lock();
+        try {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = table.length - 1;
+            for (int slot = slot(value, mask); table[slot] != 0; slot = (slot + 1) & mask) {
+                if (table[slot] == value) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns false if the value was already present
+    public boolean add(long value) {
+        lock.writeLock().lock();
+        try {
+            if (value == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                size += added ? 1 : 0;
+                return added;
+            }
+            if ((size + 1) * 2 > table.length) {
+                resize(table.length * 2);
+            }
+            int mask = table.length - 1;
+            int slot = slot(value, mask);
+            while (table[slot] != 0) {
+                if (table[slot] == value) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value;
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns false if the value was not present
+    public boolean remove(long value) {
+        lock.writeLock().lock();
+        try {
+            if (value == 0) {
+                boolean removed = containsZero;
+                containsZero = false;
+                size -= removed ? 1 : 0;
+                return removed;
+            }
+            int mask = table.length - 1;
+            int slot = slot(value, mask);
+            while (table[slot] != value) {
+                if (table[slot] == 0) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Backward-shift deletion: move later entries of the probe run into the hole
+            int hole = slot;
+            for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home = slot(table[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table[hole] = table[next];
+                    hole = next;
+                }
+            }
+            table[hole] = 0;
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Heap used by the table
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return 16L + (long) table.length * Long.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resize(int newLength) {
+        long[] old = table;
+        table = new long[newLength];
+        int mask = newLength - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int slot = slot(value, mask);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private static int slot(long value, int mask) {
+        return (int) (value ^ (value >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int length = 16;
+        while (length < (long) expectedSize * 2) {
+            length <<= 1;
+        }
+        return length;
+    }
+}
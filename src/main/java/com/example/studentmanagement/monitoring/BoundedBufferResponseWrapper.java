@@ -0,0 +1,145 @@
+package com.example.studentmanagement.monitoring;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Holds back the response body up to a limit, so headers can still be set once it is written.
+ *
+ * A body that grows past the limit is streamed instead: onOverflow runs while headers can still
+ * be set, the held-back bytes are written out and everything after goes straight to the
+ * response. Large responses therefore cost at most limit bytes of heap and keep their time to
+ * first byte.
+ */
+class BoundedBufferResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final Runnable onOverflow;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private boolean streaming;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BoundedBufferResponseWrapper(HttpServletResponse response, int limit, Runnable onOverflow) {
+        super(response);
+        this.limit = limit;
+        this.onOverflow = onOverflow;
+    }
+
+    // True once the body has passed the limit and is being written to the response directly
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new BoundedOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    // Held-back bytes are not flushed: flushing would commit the response before the header is set
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (streaming) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        buffer.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffer.reset();
+    }
+
+    // Write out whatever is still held back; call once the request is done
+    void copyBodyToResponse() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (streaming || buffer.size() == 0) {
+            return;
+        }
+        if (!getResponse().isCommitted()) {
+            getResponse().setContentLength(buffer.size());
+        }
+        buffer.writeTo(getResponse().getOutputStream());
+        buffer.reset();
+    }
+
+    private void startStreaming() throws IOException {
+        streaming = true;
+        onOverflow.run();
+        buffer.writeTo(getResponse().getOutputStream());
+        buffer.reset();
+    }
+
+    private class BoundedOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!streaming && buffer.size() + 1 > limit) {
+                startStreaming();
+            }
+            if (streaming) {
+                getResponse().getOutputStream().write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!streaming && buffer.size() + length > limit) {
+                startStreaming();
+            }
+            if (streaming) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (streaming) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported while timing the response");
+        }
+    }
+}
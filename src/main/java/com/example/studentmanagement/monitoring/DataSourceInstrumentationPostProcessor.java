@@ -0,0 +1,37 @@
+package com.example.studentmanagement.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps every DataSource bean, and the export pools, in an InstrumentedDataSource (disable with app.sql.instrumentation-enabled=false)
+@Component
+public class DataSourceInstrumentationPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? instrument(dataSource) : bean;
+    }
+
+    // Also used for pools that are not beans (export pools)
+    public DataSource instrument(DataSource dataSource) {
+        if (dataSource instanceof InstrumentedDataSource
+                || !environment.getProperty("app.sql.instrumentation-enabled", Boolean.class, true)) {
+            return dataSource;
+        }
+        return new InstrumentedDataSource(dataSource,
+                environment.getProperty("app.sql.slow-query-threshold-ms", Long.class, 200L),
+                environment.getProperty("app.sql.slow-query-sample-rate", Double.class, 1.0),
+                environment.getProperty("app.sql.simulated-latency-ms", Long.class, 0L));
+    }
+}
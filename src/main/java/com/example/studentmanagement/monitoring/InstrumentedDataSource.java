@@ -0,0 +1,137 @@
+package com.example.studentmanagement.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DataSource wrapper that times every statement execution.
+ *
+ * Timings go to the SqlMetrics windows open on the executing thread, and statements slower than
+ * the configured threshold are logged (optionally sampled) together with their SQL. For load
+ * tests, every execution can be delayed by a fixed simulated latency.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedDataSource.class);
+
+    private final long slowQueryThresholdNanos;
+    private final double slowQuerySampleRate;
+    private final long simulatedLatencyMillis;
+
+    public InstrumentedDataSource(DataSource targetDataSource, long slowQueryThresholdMillis, double slowQuerySampleRate,
+                                  long simulatedLatencyMillis) {
+        super(targetDataSource);
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000;
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.simulatedLatencyMillis = simulatedLatencyMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void recordExecution(String sql, long elapsedNanos) {
+        SqlMetrics.record(elapsedNanos);
+        if (elapsedNanos >= slowQueryThresholdNanos
+                && (slowQuerySampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate)) {
+            log.warn("Slow SQL ({} ms): {}", String.format("%.1f", elapsedNanos / 1_000_000.0), sql);
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = InstrumentedDataSource.this.invoke(target, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement
+                    && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return InstrumentedDataSource.this.invoke(target, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                if (simulatedLatencyMillis > 0) {
+                    Thread.sleep(simulatedLatencyMillis);
+                }
+                return InstrumentedDataSource.this.invoke(target, method, args);
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                recordExecution(sql, System.nanoTime() - started);
+            }
+        }
+    }
+}
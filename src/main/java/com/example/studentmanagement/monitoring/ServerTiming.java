@@ -0,0 +1,80 @@
+package com.example.studentmanagement.monitoring;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request time breakdown reported in the Server-Timing response header.
+ *
+ * The request's timing is current on every thread working on the request (servlet threads and
+ * the database executor); code in a phase reports its elapsed time with record(). Database time
+ * comes from the request's SqlMetrics window rather than from here.
+ */
+public class ServerTiming {
+
+    public enum Phase {
+        VALIDATION, MAPPING, SERIALIZATION
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+    private final SqlMetrics sqlMetrics;
+
+    public ServerTiming(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    // The timing of the request the current thread is working on, or null
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    // Make the timing current on this thread until the scope is closed
+    public static SqlMetrics.Scope attach(ServerTiming timing) {
+        ServerTiming previous = CURRENT.get();
+        CURRENT.set(timing);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // Add time spent in a phase to the current request, if any
+    public static void record(Phase phase, long elapsedNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos.addAndGet(phase.ordinal(), elapsedNanos);
+        }
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase.ordinal());
+    }
+
+    // Header value, e.g. validation;dur=0.1, db;dur=2.3;desc="2 statements", mapping;dur=0.0, serialization;dur=0.4, total;dur=3.5
+    // (without serialization while the body is still being written)
+    public String toHeaderValue(boolean includeSerialization) {
+        StringBuilder value = new StringBuilder();
+        appendMetric(value, "validation", getPhaseNanos(Phase.VALIDATION));
+        appendMetric(value, "db", sqlMetrics.getDbNanos());
+        value.append(";desc=\"").append(sqlMetrics.getStatementCount()).append(" statements\"");
+        appendMetric(value, "mapping", getPhaseNanos(Phase.MAPPING));
+        if (includeSerialization) {
+            appendMetric(value, "serialization", getPhaseNanos(Phase.SERIALIZATION));
+        }
+        appendMetric(value, "total", System.nanoTime() - startedNanos);
+        return value.toString();
+    }
+
+    private void appendMetric(StringBuilder value, String name, long nanos) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
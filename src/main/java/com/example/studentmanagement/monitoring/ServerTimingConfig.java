@@ -0,0 +1,79 @@
+package com.example.studentmanagement.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times the validation and serialization phases of Spring MVC requests for the Server-Timing header.
+ *
+ * Replaces the JSON message converter with one that records how long writing the response body
+ * takes, and wraps the MVC validator (used for @Valid arguments) to record validation time.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private jakarta.validation.Validator validator;
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                long started = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    ServerTiming.record(ServerTiming.Phase.SERIALIZATION, System.nanoTime() - started);
+                }
+            }
+        };
+    }
+
+    @Override
+    public Validator getValidator() {
+        SmartValidator delegate = new SpringValidatorAdapter(validator);
+        return new SmartValidator() {
+            @Override
+            public boolean supports(Class<?> clazz) {
+                return delegate.supports(clazz);
+            }
+
+            @Override
+            public void validate(Object target, Errors errors) {
+                long started = System.nanoTime();
+                try {
+                    delegate.validate(target, errors);
+                } finally {
+                    ServerTiming.record(ServerTiming.Phase.VALIDATION, System.nanoTime() - started);
+                }
+            }
+
+            @Override
+            public void validate(Object target, Errors errors, Object... validationHints) {
+                long started = System.nanoTime();
+                try {
+                    delegate.validate(target, errors, validationHints);
+                } finally {
+                    ServerTiming.record(ServerTiming.Phase.VALIDATION, System.nanoTime() - started);
+                }
+            }
+        };
+    }
+}
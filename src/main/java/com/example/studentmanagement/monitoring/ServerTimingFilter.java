@@ -0,0 +1,73 @@
+package com.example.studentmanagement.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+// Adds a Server-Timing header (validation, db, mapping, serialization, total) to every response.
+// Up to app.server-timing.max-buffer-bytes of the body are held back so the header can still be set
+// after serialization; a larger body is streamed and its header, sent before the first byte, has no
+// serialization entry. Asynchronous requests keep their timing across dispatches and get the header
+// when the last dispatch finishes.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+
+    @Value("${app.server-timing.max-buffer-bytes:65536}")
+    private int maxBufferBytes;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        HttpServletResponse responseToUse = response;
+        if (timing == null) {
+            // The window stays open for the whole request: threads continuing it attach to it
+            try (SqlMetrics sqlMetrics = SqlMetrics.open()) {
+                ServerTiming newTiming = new ServerTiming(sqlMetrics);
+                request.setAttribute(TIMING_ATTRIBUTE, newTiming);
+                responseToUse = new BoundedBufferResponseWrapper(response, maxBufferBytes,
+                        () -> response.setHeader("Server-Timing", newTiming.toHeaderValue(false)));
+                dispatch(request, responseToUse, filterChain, newTiming);
+            }
+        } else {
+            dispatch(request, responseToUse, filterChain, timing);
+        }
+    }
+
+    private void dispatch(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                          ServerTiming timing) throws ServletException, IOException {
+        try (SqlMetrics.Scope scope = ServerTiming.attach(timing)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                BoundedBufferResponseWrapper wrapper =
+                        WebUtils.getNativeResponse(response, BoundedBufferResponseWrapper.class);
+                if (wrapper != null) {
+                    if (!wrapper.isStreaming() && !wrapper.isCommitted()) {
+                        wrapper.setHeader("Server-Timing", timing.toHeaderValue(true));
+                    }
+                    wrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.studentmanagement.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts JDBC statements and the time spent executing them within a measurement window.
+ *
+ * Windows are opened per thread and may be nested (e.g. a test wrapping a whole HTTP request);
+ * every statement executed on the thread is recorded in all open windows. Work handed to another
+ * thread can keep recording into the caller's windows with capture() and attach().
+ */
+public class SqlMetrics implements AutoCloseable {
+
+    private static final ThreadLocal<Deque<SqlMetrics>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final Thread owner = Thread.currentThread();
+
+    private SqlMetrics() {
+    }
+
+    // Open a new measurement window on the current thread; close it with close() or try-with-resources
+    public static SqlMetrics open() {
+        SqlMetrics metrics = new SqlMetrics();
+        OPEN.get().push(metrics);
+        return metrics;
+    }
+
+    // The windows open on the current thread, to be attached to the thread that continues the work
+    public static List<SqlMetrics> capture() {
+        return new ArrayList<>(OPEN.get());
+    }
+
+    // Record statements executed on the current thread in the given windows until the scope is closed
+    public static Scope attach(List<SqlMetrics> windows) {
+        Deque<SqlMetrics> open = OPEN.get();
+        for (int i = windows.size() - 1; i >= 0; i--) {
+            open.push(windows.get(i));
+        }
+        return () -> windows.forEach(open::remove);
+    }
+
+    // Called by the JDBC instrumentation after each statement execution
+    static void record(long elapsedNanos) {
+        Deque<SqlMetrics> open = OPEN.get();
+        if (open.isEmpty()) {
+            return;
+        }
+        for (SqlMetrics metrics : open) {
+            metrics.statementCount.incrementAndGet();
+            metrics.dbNanos.addAndGet(elapsedNanos);
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.get();
+    }
+
+    public double getDbMillis() {
+        return dbNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        if (Thread.currentThread() == owner) {
+            OPEN.get().remove(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return statementCount.get() + " statements in " + String.format("%.1f", getDbMillis()) + " ms";
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
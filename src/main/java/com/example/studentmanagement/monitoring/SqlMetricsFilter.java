@@ -0,0 +1,82 @@
+package com.example.studentmanagement.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Measures SQL statements and DB time per HTTP request and warns when a request exceeds the statement budget.
+// Asynchronous requests keep recording on the threads that continue them and are reported when they complete.
+@Component
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsFilter.class);
+
+    @Value("${app.sql.max-statements-per-request:20}")
+    private int maxStatementsPerRequest;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlMetrics metrics = SqlMetrics.open()) {
+            boolean async = false;
+            try {
+                filterChain.doFilter(request, response);
+                async = isAsyncStarted(request);
+                if (async) {
+                    request.getAsyncContext().addListener(new ReportOnComplete(request, metrics));
+                }
+            } finally {
+                if (!async) {
+                    report(request, metrics);
+                }
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlMetrics metrics) {
+        if (metrics.getStatementCount() > maxStatementsPerRequest) {
+            log.warn("{} {} ran {} (budget {} statements) - possible N+1 query",
+                    request.getMethod(), request.getRequestURI(), metrics, maxStatementsPerRequest);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} ran {}", request.getMethod(), request.getRequestURI(), metrics);
+        }
+    }
+
+    private class ReportOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final SqlMetrics metrics;
+
+        ReportOnComplete(HttpServletRequest request, SqlMetrics metrics) {
+            this.request = request;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            report(request, metrics);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.ArchivedStudent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, Long> {
+
+    // Most recently archived student with this email
+    Optional<ArchivedStudent> findFirstByEmailOrderByArchivedAtDesc(String email);
+
+    boolean existsByEmail(String email);
+}
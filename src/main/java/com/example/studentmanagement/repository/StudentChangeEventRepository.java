@@ -0,0 +1,34 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentChangeEventRepository extends JpaRepository<StudentChangeEvent, Long> {
+
+    // Next batch after the cursor, in commit-visible id order (primary key range scan)
+    List<StudentChangeEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Events whose ids were skipped by the cursor because their transactions had not committed yet
+    List<StudentChangeEvent> findByIdIn(Collection<Long> ids);
+
+    // Highest event id so far (0 if there are none)
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM StudentChangeEvent e")
+    long findMaxId();
+
+    // Remove events older than the retention period
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StudentChangeEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
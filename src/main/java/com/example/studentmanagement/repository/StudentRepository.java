@@ -2,8 +2,11 @@ package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,15 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     // Find active students
     List<Student> findByIsActiveTrue();
+
+    // Find students in a department
+    List<Student> findByDepartment(String department);
+
+    // Count students, optionally filtered by active flag and department (null = any)
+    @Query("SELECT COUNT(s) FROM Student s WHERE (:isActive IS NULL OR s.isActive = :isActive) "
+            + "AND (:department IS NULL OR s.department = :department)")
+    long countByFilter(@Param("isActive") Boolean isActive, @Param("department") String department);
+
+    // Find students whose id is in the given set (single IN query)
+    List<Student> findByIdIn(Collection<Long> ids);
 }
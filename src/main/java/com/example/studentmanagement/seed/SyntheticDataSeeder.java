@@ -0,0 +1,184 @@
+package com.example.studentmanagement.seed;
+
+import com.example.studentmanagement.sharding.ShardEmailRegistry;
+import com.example.studentmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads synthetic students for performance testing.
+ *
+ * Run with the seed profile, e.g.
+ * mvn spring-boot:run -Dspring-boot.run.profiles=seed -Dspring-boot.run.arguments=--app.seed.count=1000000
+ *
+ * Rows get explicit ids starting after the current max id. The id space is cut into ranges that
+ * worker threads insert in parallel, each range written as multi-row INSERT statements. The
+ * application exits once the rows are written.
+ */
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    // MySQL allows at most 65535 placeholders per prepared statement
+    private static final int MAX_ROWS_PER_INSERT = 65535 / SyntheticStudentGenerator.COLUMNS.length;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private ShardEmailRegistry shardEmailRegistry;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.seed.count:100000}")
+    private long count;
+
+    @Value("${app.seed.seed:42}")
+    private long seed;
+
+    @Value("${app.seed.threads:0}")
+    private int threads;
+
+    @Value("${app.seed.rows-per-insert:1000}")
+    private int rowsPerInsert;
+
+    @Value("${app.seed.rows-per-range:100000}")
+    private long rowsPerRange;
+
+    @Value("${app.seed.departments:Computer Science:30,Mathematics:15,Physics:15,Chemistry:10,Biology:15,Economics:15}")
+    private String departments;
+
+    @Value("${app.seed.active-ratio:0.8}")
+    private double activeRatio;
+
+    @Value("${app.seed.enrollment-year-min:2015}")
+    private int enrollmentYearMin;
+
+    @Value("${app.seed.enrollment-year-max:2026}")
+    private int enrollmentYearMax;
+
+    // Date the created_at/updated_at values are generated relative to; empty = the current date
+    @Value("${app.seed.reference-date:}")
+    private String referenceDate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        seedStudents();
+        // Closing the context stops the scheduler's threads, so the JVM exits; a failure closes it anyway
+        SpringApplication.exit(applicationContext);
+    }
+
+    private void seedStudents() throws Exception {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(seed,
+                SyntheticStudentGenerator.parseDepartmentWeights(departments), activeRatio,
+                enrollmentYearMin, enrollmentYearMax, referenceDate());
+        // Archived students keep their ids, so new ids start above both tables
+        Long maxId = jdbcTemplate.queryForObject("SELECT GREATEST(COALESCE((SELECT MAX(id) FROM students), 0), "
+                + "COALESCE((SELECT MAX(id) FROM archived_students), 0))", Long.class);
+        long firstId = maxId + 1;
+        if (shardRouter != null && firstId + count > shardRouter.rangeEnd(0)) {
+            throw new IllegalStateException("With sharding enabled the seeder writes to shard 0 only, whose id range ends at "
+                    + shardRouter.rangeEnd(0) + "; seed at most " + Math.max(0, shardRouter.rangeEnd(0) - firstId) + " rows");
+        }
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        log.info("Seeding {} students from id {} with seed {} on {} threads", count, firstId, seed, workers);
+        long started = System.nanoTime();
+        long inserted = seed(jdbcTemplate, generator, firstId, count, workers, rowsPerInsert, rowsPerRange);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("Seeded {} students in {} s ({} rows/s)", inserted, String.format("%.1f", seconds),
+                Math.round(inserted / Math.max(seconds, 0.001)));
+        if (shardEmailRegistry != null) {
+            // The bulk inserts bypass the sharded repository, so their emails are registered afterwards
+            shardEmailRegistry.registerExisting(new JdbcTemplate(shardRouter.dataSource(0)));
+        }
+    }
+
+    private LocalDate referenceDate() {
+        if (referenceDate == null || referenceDate.isBlank()) {
+            log.warn("app.seed.reference-date is not set; created_at/updated_at depend on the current date");
+            return LocalDate.now();
+        }
+        return LocalDate.parse(referenceDate.trim());
+    }
+
+    // Inserts ids [firstId, firstId + count) in parallel id ranges and returns the number of rows written
+    public static long seed(JdbcTemplate jdbcTemplate, SyntheticStudentGenerator generator, long firstId, long count,
+                            int workers, int rowsPerInsert, long rowsPerRange) throws InterruptedException {
+        int batchRows = Math.max(1, Math.min(rowsPerInsert, MAX_ROWS_PER_INSERT));
+        long rangeRows = Math.max(batchRows, rowsPerRange);
+        long endId = firstId + count;
+        AtomicLong inserted = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workers));
+        try {
+            List<Future<?>> ranges = new ArrayList<>();
+            for (long rangeStart = firstId; rangeStart < endId; rangeStart += rangeRows) {
+                long from = rangeStart;
+                long to = Math.min(rangeStart + rangeRows, endId);
+                ranges.add(executor.submit(() -> insertRange(jdbcTemplate, generator, from, to, batchRows, inserted)));
+            }
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Seeding failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return inserted.get();
+    }
+
+    private static void insertRange(JdbcTemplate jdbcTemplate, SyntheticStudentGenerator generator,
+                                    long fromId, long toId, int batchRows, AtomicLong inserted) {
+        String fullBatchSql = insertSql(batchRows);
+        for (long batchStart = fromId; batchStart < toId; batchStart += batchRows) {
+            int rows = (int) Math.min(batchRows, toId - batchStart);
+            Object[] params = new Object[rows * SyntheticStudentGenerator.COLUMNS.length];
+            for (int row = 0; row < rows; row++) {
+                Object[] values = generator.row(batchStart + row);
+                System.arraycopy(values, 0, params, row * values.length, values.length);
+            }
+            jdbcTemplate.update(rows == batchRows ? fullBatchSql : insertSql(rows), params);
+            inserted.addAndGet(rows);
+        }
+        log.debug("Seeded id range [{}, {})", fromId, toId);
+    }
+
+    private static String insertSql(int rows) {
+        String placeholders = "(" + "?,".repeat(SyntheticStudentGenerator.COLUMNS.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder("INSERT INTO students (")
+                .append(String.join(", ", SyntheticStudentGenerator.COLUMNS))
+                .append(") VALUES ");
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(',');
+            }
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.studentmanagement.seed;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates realistic-looking student rows for performance testing.
+ *
+ * Every row is derived only from the seed, the reference date and the row id, so the same seed
+ * and reference date produce the same data no matter how the id space is split across threads
+ * or batches, or on which day the seeder runs. Emails embed the id and are therefore unique.
+ */
+public class SyntheticStudentGenerator {
+
+    // Column order of the values returned by row(id)
+    public static final String[] COLUMNS = {
+            "id", "first_name", "last_name", "email", "phone_number", "date_of_birth", "address",
+            "department", "enrollment_year", "is_active", "created_at", "updated_at"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra", "Priya", "Wei",
+            "Arjun", "Aisha", "Mateo", "Sofia", "Hiroshi", "Yuki", "Omar", "Fatima", "Lukas", "Emma"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Lewis", "Patel", "Kumar",
+            "Chen", "Wang", "Tanaka", "Sato", "Khan", "Ali", "Muller", "Schmidt", "Rossi", "Silva"
+    };
+
+    private static final String[] STREETS = {
+            "Main", "Oak", "Pine", "Maple", "Cedar", "Elm", "Lake", "Hill", "Park", "River", "Sunset", "Washington"
+    };
+
+    private static final String[] CITIES = {
+            "Springfield", "Riverton", "Fairview", "Greenville", "Madison", "Franklin", "Clinton", "Georgetown"
+    };
+
+    private final long seed;
+    private final String[] departments;
+    private final int[] cumulativeWeights;
+    private final double activeRatio;
+    private final int enrollmentYearMin;
+    private final int enrollmentYearMax;
+    private final LocalDate referenceDate;
+
+    public SyntheticStudentGenerator(long seed, Map<String, Integer> departmentWeights, double activeRatio,
+                                     int enrollmentYearMin, int enrollmentYearMax, LocalDate referenceDate) {
+        if (departmentWeights.isEmpty()) {
+            throw new IllegalArgumentException("At least one department is required");
+        }
+        if (enrollmentYearMin > enrollmentYearMax) {
+            throw new IllegalArgumentException("Enrollment year range is empty: " + enrollmentYearMin + ".." + enrollmentYearMax);
+        }
+        this.seed = seed;
+        this.departments = departmentWeights.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[departments.length];
+        int total = 0;
+        for (int i = 0; i < departments.length; i++) {
+            total += departmentWeights.get(departments[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.activeRatio = activeRatio;
+        this.enrollmentYearMin = enrollmentYearMin;
+        this.enrollmentYearMax = enrollmentYearMax;
+        this.referenceDate = referenceDate;
+    }
+
+    // Parses "Computer Science:30,Mathematics:15" into an ordered department -> weight map
+    public static Map<String, Integer> parseDepartmentWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.lastIndexOf(':');
+            if (separator < 0) {
+                weights.put(trimmed, 1);
+            } else {
+                int weight = Integer.parseInt(trimmed.substring(separator + 1).trim());
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("Department weight must be positive: " + trimmed);
+                }
+                weights.put(trimmed.substring(0, separator).trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    // Values for one row, in COLUMNS order
+    public Object[] row(long id) {
+        SplittableRandom random = new SplittableRandom(seed ^ (id * 0x9E3779B97F4A7C15L));
+
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@seed.example.com";
+        String phoneNumber = String.valueOf(2_000_000_000L + random.nextLong(8_000_000_000L));
+
+        int enrollmentYear = enrollmentYearMin + random.nextInt(enrollmentYearMax - enrollmentYearMin + 1);
+        LocalDate dateOfBirth = LocalDate.of(enrollmentYear - 18 - random.nextInt(5), 1, 1)
+                .plusDays(random.nextInt(365));
+        String address = (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)] + " St, "
+                + CITIES[random.nextInt(CITIES.length)] + ", State " + (10000 + random.nextInt(90000));
+
+        String department = pickDepartment(random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]));
+        boolean active = random.nextDouble() < activeRatio;
+
+        // created_at/updated_at never lie after the reference date, which stands in for "today"
+        LocalDate createdAt = LocalDate.of(enrollmentYear, 9, 1).plusDays(random.nextInt(30));
+        if (createdAt.isAfter(referenceDate)) {
+            createdAt = referenceDate;
+        }
+        long daysSinceCreated = referenceDate.toEpochDay() - createdAt.toEpochDay();
+        LocalDate updatedAt = createdAt.plusDays(daysSinceCreated == 0 ? 0 : random.nextLong(daysSinceCreated + 1));
+
+        return new Object[]{
+                id, firstName, lastName, email, phoneNumber, Date.valueOf(dateOfBirth), address,
+                department, enrollmentYear, active, Date.valueOf(createdAt), Date.valueOf(updatedAt)
+        };
+    }
+
+    private String pickDepartment(int ticket) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return departments[i];
+            }
+        }
+        return departments[departments.length - 1];
+    }
+}
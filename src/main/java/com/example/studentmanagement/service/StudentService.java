@@ -1,5 +1,6 @@
 package com.example.studentmanagement.service;
 
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
 import com.example.studentmanagement.dto.StudentRequestDTO;
 import com.example.studentmanagement.dto.StudentResponseDTO;
 import com.example.studentmanagement.entity.Student;
@@ -17,12 +18,21 @@ public interface StudentService {
     // Get student by ID
     StudentResponseDTO getStudentById(Long id);
 
+    // Get students by a list of IDs, in request order, reporting missing IDs
+    StudentBatchResponseDTO getStudentsByIds(List<Long> ids);
+
     // Get student by email
     StudentResponseDTO getStudentByEmail(String email);
 
     // Get active students
     List<StudentResponseDTO> getActiveStudents();
 
+    // Get students in a department
+    List<StudentResponseDTO> getStudentsByDepartment(String department);
+
+    // Count students, optionally filtered by active flag and department
+    long countStudents(Boolean isActive, String department);
+
     // Update student
     StudentResponseDTO updateStudent(Long id, StudentRequestDTO studentRequestDTO);
 
@@ -1,15 +1,43 @@
 package com.example.studentmanagement.service.impl;
 
+import com.example.studentmanagement.archive.StudentArchive;
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
 import com.example.studentmanagement.dto.StudentRequestDTO;
 import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.ArchivedStudent;
 import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.mapper.StudentMapper;
+import com.example.studentmanagement.invalidation.StudentChangePublisher;
+import com.example.studentmanagement.membership.EmailMembershipFilter;
+import com.example.studentmanagement.monitoring.ServerTiming;
 import com.example.studentmanagement.repository.StudentRepository;
 import com.example.studentmanagement.service.StudentService;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import com.example.studentmanagement.snapshot.StudentSnapshot;
+import com.example.studentmanagement.util.GroupCommitter;
+import com.example.studentmanagement.util.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,28 +46,141 @@ public class StudentServiceImpl implements StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    // Present only with app.archive.enabled=true; reads fall through to it and writes restore from it
+    @Autowired(required = false)
+    private StudentArchive studentArchive;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    // Present only with app.snapshot.enabled=true; serves list/filter/count reads from memory
+    @Autowired(required = false)
+    private StudentSnapshot studentSnapshot;
+
+    // Present only with app.email-filter.enabled=true; rejects taken emails without a query
+    @Autowired(required = false)
+    private EmailMembershipFilter emailFilter;
+
+    // Present only with app.invalidation.enabled=true; tells other instances about every change
+    @Autowired(required = false)
+    private StudentChangePublisher changePublisher;
+
+    // Present only with app.sharding.enabled=true; places new students before their transaction opens
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${app.single-flight.timeout-ms:5000}")
+    private long singleFlightTimeoutMs;
+
+    @Value("${app.batch-lookup.chunk-size:500}")
+    private int batchLookupChunkSize;
+
+    @Value("${app.batch-lookup.max-ids:5000}")
+    private int batchLookupMaxIds;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.write-coalescing.enabled:false}")
+    private boolean writeCoalescingEnabled;
+
+    @Value("${app.write-coalescing.max-batch-size:100}")
+    private int writeCoalescingMaxBatchSize;
+
+    @Value("${app.write-coalescing.max-wait-ms:5}")
+    private long writeCoalescingMaxWaitMs;
+
+    @Value("${app.write-coalescing.queue-capacity:10000}")
+    private int writeCoalescingQueueCapacity;
+
+    @Value("${app.write-coalescing.timeout-ms:10000}")
+    private long writeCoalescingTimeoutMs;
+
+    // Concurrent lookups of the same id/email share one database load
+    private SingleFlight<Long, StudentResponseDTO> idLookups;
+    private SingleFlight<String, StudentResponseDTO> emailLookups;
+
+    // Concurrent creates share one transaction per batch, one committer per shard (index 0 unsharded);
+    // null when write coalescing is disabled
+    private List<GroupCommitter<Student, Student>> createCommitters;
+
+    @PostConstruct
+    void initLookups() {
+        // Response DTOs are mutable, so every waiting caller gets its own copy
+        idLookups = new SingleFlight<>(singleFlightTimeoutMs, dto -> studentMapper.copy(dto));
+        emailLookups = new SingleFlight<>(singleFlightTimeoutMs, dto -> studentMapper.copy(dto));
+    }
+
+    // A chunk size below 1 would never advance through the requested ids
+    @PostConstruct
+    void validateBatchLookup() {
+        if (batchLookupChunkSize < 1) {
+            throw new IllegalStateException("app.batch-lookup.chunk-size must be at least 1, was " + batchLookupChunkSize);
+        }
+        if (batchLookupMaxIds < 1) {
+            throw new IllegalStateException("app.batch-lookup.max-ids must be at least 1, was " + batchLookupMaxIds);
+        }
+    }
+
+    @PostConstruct
+    void initWriteCoalescing() {
+        if (!writeCoalescingEnabled) {
+            return;
+        }
+        // A batch is one transaction and so lands on one shard; each shard gets its own batches
+        createCommitters = new ArrayList<>();
+        for (Integer shard : shardRouter == null ? List.<Integer>of() : shardRouter.shardIndexes()) {
+            createCommitters.add(newCreateCommitter("student-create-committer-shard-" + shard, shard));
+        }
+        if (createCommitters.isEmpty()) {
+            createCommitters.add(newCreateCommitter("student-create-committer", null));
+        }
+    }
+
+    private GroupCommitter<Student, Student> newCreateCommitter(String name, Integer shard) {
+        return new GroupCommitter<>(name, writeCoalescingMaxBatchSize,
+                writeCoalescingMaxWaitMs, writeCoalescingQueueCapacity, writeCoalescingTimeoutMs,
+                students -> inTransactionOn(shard, () -> students.stream().map(this::insertStudent).toList()),
+                student -> {
+                    // A failed batch may have assigned ids that were rolled back
+                    student.setId(null);
+                    return inTransactionOn(shard, () -> insertStudent(student));
+                });
+    }
+
+    @PreDestroy
+    void closeWriteCoalescing() {
+        if (createCommitters != null) {
+            createCommitters.forEach(GroupCommitter::close);
+        }
+    }
+
     @Override
     public StudentResponseDTO createStudent(StudentRequestDTO studentRequestDTO) {
-        // Create new student entity
-        Student student = new Student();
-        student.setFirstName(studentRequestDTO.getFirstName());
-        student.setLastName(studentRequestDTO.getLastName());
-        student.setEmail(studentRequestDTO.getEmail());
-        student.setPhoneNumber(studentRequestDTO.getPhoneNumber());
-        student.setDateOfBirth(studentRequestDTO.getDateOfBirth());
-        student.setAddress(studentRequestDTO.getAddress());
-        student.setDepartment(studentRequestDTO.getDepartment());
-        student.setEnrollmentYear(studentRequestDTO.getEnrollmentYear());
-        student.setIsActive(true);
-        student.setCreatedAt(LocalDate.now());
-        student.setUpdatedAt(LocalDate.now());
+        rejectIfEmailTaken(studentRequestDTO.getEmail());
 
-        Student savedStudent = studentRepository.save(student);
+        // Create new student entity; the request was validated once by the controller
+        Student student = toEntity(studentRequestDTO);
+
+        // Not @Transactional: a caller waiting for a group commit must not hold a connection. The shard is picked
+        // here because a transaction stays on the shard its first statement went to.
+        Integer shard = shardRouter == null ? null : shardRouter.placementShard();
+        Student savedStudent;
+        try {
+            savedStudent = createCommitters != null
+                    ? createCommitters.get(shard == null ? 0 : shard).submit(student)
+                    : inTransactionOn(shard, () -> insertStudent(student));
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, student.getEmail());
+        }
         return convertToResponseDTO(savedStudent);
     }
 
     @Override
     public List<StudentResponseDTO> getAllStudents() {
+        if (snapshotReady()) {
+            return studentSnapshot.getAllStudents();
+        }
         List<Student> students = studentRepository.findAll();
         return students.stream()
                 .map(this::convertToResponseDTO)
@@ -48,20 +189,71 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public StudentResponseDTO getStudentById(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
-        return convertToResponseDTO(student);
+        // Students that are no longer in the hot table may have been archived
+        return idLookups.load(id, () -> studentRepository.findById(id)
+                .map(this::convertToResponseDTO)
+                .or(() -> studentArchive == null ? Optional.empty()
+                        : studentArchive.findById(id).map(this::convertToResponseDTO))
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id)));
+    }
+
+    @Override
+    public StudentBatchResponseDTO getStudentsByIds(List<Long> ids) {
+        // Duplicates are resolved once, in the position of their first occurrence
+        List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (requestedIds.contains(null)) {
+            throw new RuntimeException("Student ids must not be null");
+        }
+        if (requestedIds.size() > batchLookupMaxIds) {
+            throw new RuntimeException("Cannot look up more than " + batchLookupMaxIds + " students at once");
+        }
+
+        Map<Long, StudentResponseDTO> found = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += batchLookupChunkSize) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + batchLookupChunkSize, requestedIds.size()));
+            for (Student student : studentRepository.findByIdIn(chunk)) {
+                found.put(student.getId(), convertToResponseDTO(student));
+            }
+        }
+
+        // Like single lookups, ids missing from the hot table are looked up in the archive
+        if (studentArchive != null && found.size() < requestedIds.size()) {
+            List<Long> notFound = requestedIds.stream().filter(id -> !found.containsKey(id)).toList();
+            for (int from = 0; from < notFound.size(); from += batchLookupChunkSize) {
+                List<Long> chunk = notFound.subList(from, Math.min(from + batchLookupChunkSize, notFound.size()));
+                for (ArchivedStudent archivedStudent : studentArchive.findAllById(chunk)) {
+                    found.put(archivedStudent.getId(), convertToResponseDTO(archivedStudent));
+                }
+            }
+        }
+
+        List<StudentResponseDTO> students = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            StudentResponseDTO student = found.get(id);
+            if (student != null) {
+                students.add(student);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new StudentBatchResponseDTO(students, missingIds);
     }
 
     @Override
     public StudentResponseDTO getStudentByEmail(String email) {
-        Student student = studentRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Student not found with email: " + email));
-        return convertToResponseDTO(student);
+        return emailLookups.load(email, () -> studentRepository.findByEmail(email)
+                .map(this::convertToResponseDTO)
+                .or(() -> studentArchive == null ? Optional.empty()
+                        : studentArchive.findByEmail(email).map(this::convertToResponseDTO))
+                .orElseThrow(() -> new RuntimeException("Student not found with email: " + email)));
     }
 
     @Override
     public List<StudentResponseDTO> getActiveStudents() {
+        if (snapshotReady()) {
+            return studentSnapshot.getActiveStudents();
+        }
         List<Student> students = studentRepository.findByIsActiveTrue();
         return students.stream()
                 .map(this::convertToResponseDTO)
@@ -69,68 +261,206 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    public List<StudentResponseDTO> getStudentsByDepartment(String department) {
+        if (snapshotReady()) {
+            return studentSnapshot.getStudentsByDepartment(department);
+        }
+        List<Student> students = studentRepository.findByDepartment(department);
+        return students.stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countStudents(Boolean isActive, String department) {
+        if (snapshotReady()) {
+            return studentSnapshot.countStudents(isActive, department);
+        }
+        return studentRepository.countByFilter(isActive, department);
+    }
+
+    @Override
+    @Transactional
     public StudentResponseDTO updateStudent(Long id, StudentRequestDTO studentRequestDTO) {
-        Student existingStudent = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        Student existingStudent = findForWrite(id);
+        String previousEmail = existingStudent.getEmail();
+        if (!previousEmail.equalsIgnoreCase(studentRequestDTO.getEmail())) {
+            rejectIfEmailTaken(studentRequestDTO.getEmail());
+        }
 
         // Update student fields
-        existingStudent.setFirstName(studentRequestDTO.getFirstName());
-        existingStudent.setLastName(studentRequestDTO.getLastName());
-        existingStudent.setEmail(studentRequestDTO.getEmail());
-        existingStudent.setPhoneNumber(studentRequestDTO.getPhoneNumber());
-        existingStudent.setDateOfBirth(studentRequestDTO.getDateOfBirth());
-        existingStudent.setAddress(studentRequestDTO.getAddress());
-        existingStudent.setDepartment(studentRequestDTO.getDepartment());
-        existingStudent.setEnrollmentYear(studentRequestDTO.getEnrollmentYear());
-        existingStudent.setUpdatedAt(LocalDate.now());
-
-        Student updatedStudent = studentRepository.save(existingStudent);
+        long started = System.nanoTime();
+        studentMapper.updateEntity(studentRequestDTO, existingStudent);
+        ServerTiming.record(ServerTiming.Phase.MAPPING, System.nanoTime() - started);
+
+        // Flush here so a unique-constraint violation surfaces inside this method, not at commit
+        Student updatedStudent;
+        try {
+            updatedStudent = studentRepository.saveAndFlush(existingStudent);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, existingStudent.getEmail());
+        }
+        if (!previousEmail.equalsIgnoreCase(updatedStudent.getEmail())) {
+            rejectIfEmailArchived(updatedStudent.getEmail());
+        }
+        recordChange(StudentChangeEvent.ChangeType.UPDATED, updatedStudent, previousEmail);
         return convertToResponseDTO(updatedStudent);
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new RuntimeException("Student not found with id: " + id);
+        Optional<Student> hotStudent = studentRepository.findById(id);
+        if (hotStudent.isEmpty()) {
+            // An archived student is deleted from the archive; only the email filter still knows it
+            ArchivedStudent archivedStudent = (studentArchive == null ? Optional.<ArchivedStudent>empty() : studentArchive.findById(id))
+                    .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+            studentArchive.delete(id);
+            if (changePublisher != null) {
+                changePublisher.publish(StudentChangeEvent.ChangeType.DELETED, id, archivedStudent.getEmail(), null);
+            }
+            if (emailFilter != null) {
+                afterCommit(() -> emailFilter.remove(archivedStudent.getEmail()));
+            }
+            return;
+        }
+        Student student = hotStudent.get();
+        studentRepository.delete(student);
+        if (changePublisher != null) {
+            changePublisher.publish(StudentChangeEvent.ChangeType.DELETED, student, null);
+        }
+        if (studentSnapshot != null) {
+            afterCommit(() -> studentSnapshot.refresh(id));
+        }
+        if (emailFilter != null) {
+            afterCommit(() -> emailFilter.remove(student.getEmail()));
         }
-        studentRepository.deleteById(id);
     }
 
     @Override
+    @Transactional
     public StudentResponseDTO deactivateStudent(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        // Only inactive students are archived, so an archived one is already deactivated and stays in the archive
+        if (studentArchive != null && !studentRepository.existsById(id)) {
+            Optional<ArchivedStudent> archivedStudent = studentArchive.findById(id);
+            if (archivedStudent.isPresent() && !Boolean.TRUE.equals(archivedStudent.get().getIsActive())) {
+                return convertToResponseDTO(archivedStudent.get());
+            }
+        }
+        Student student = findForWrite(id);
         student.setIsActive(false);
         student.setUpdatedAt(LocalDate.now());
         Student deactivatedStudent = studentRepository.save(student);
+        recordChange(StudentChangeEvent.ChangeType.UPDATED, deactivatedStudent, null);
         return convertToResponseDTO(deactivatedStudent);
     }
 
     @Override
+    @Transactional
     public StudentResponseDTO activateStudent(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        Student student = findForWrite(id);
         student.setIsActive(true);
         student.setUpdatedAt(LocalDate.now());
         Student activatedStudent = studentRepository.save(student);
+        recordChange(StudentChangeEvent.ChangeType.UPDATED, activatedStudent, null);
         return convertToResponseDTO(activatedStudent);
     }
 
-    // Helper method to convert Student entity to StudentResponseDTO
+    // Load a student for an update or activation; an archived student is moved back into the hot table first, in the caller's transaction
+    private Student findForWrite(Long id) {
+        return studentRepository.findById(id)
+                .or(() -> studentArchive != null && studentArchive.restore(id) ? studentRepository.findById(id) : Optional.empty())
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+    }
+
+    // Insert a new student and record the change; runs inside a transaction
+    private Student insertStudent(Student student) {
+        Student savedStudent = studentRepository.save(student);
+        rejectIfEmailArchived(savedStudent.getEmail());
+        recordChange(StudentChangeEvent.ChangeType.CREATED, savedStudent, null);
+        return savedStudent;
+    }
+
+    // Run work in a transaction bound to the given shard (null: unsharded or the default shard)
+    private <T> T inTransactionOn(Integer shard, Supplier<T> work) {
+        return ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> work.get()));
+    }
+
+    private boolean snapshotReady() {
+        return studentSnapshot != null && studentSnapshot.isReady();
+    }
+
+    // Publish the change to other instances in the current transaction and update local caches once it commits
+    private void recordChange(StudentChangeEvent.ChangeType changeType, Student student, String previousEmail) {
+        if (changePublisher != null) {
+            changePublisher.publish(changeType, student, previousEmail);
+        }
+        if (studentSnapshot != null) {
+            // Re-read rather than apply this entity: a later write to the student may already have committed
+            afterCommit(() -> studentSnapshot.refresh(student.getId()));
+        }
+        if (emailFilter != null) {
+            afterCommit(() -> {
+                if (previousEmail != null && !previousEmail.equals(student.getEmail())) {
+                    emailFilter.remove(previousEmail);
+                }
+                emailFilter.add(student.getEmail());
+            });
+        }
+    }
+
+    private void rejectIfEmailTaken(String email) {
+        if (emailFilter != null && emailFilter.mightContain(email)) {
+            throw new DuplicateEmailException(email);
+        }
+    }
+
+    // Archived students keep their emails, but the students unique key does not see them. Checked after the
+    // write, in its transaction, so a student archived while the write waited on their unique key is seen too.
+    private void rejectIfEmailArchived(String email) {
+        if (studentArchive != null && studentArchive.containsEmail(email)) {
+            throw new DuplicateEmailException(email);
+        }
+    }
+
+    // A unique violation on students can only be the email: ids are generated and never updated
+    private RuntimeException translateDuplicateEmail(DataIntegrityViolationException e, String email) {
+        return DuplicateEmailException.isUniqueViolation(e) ? new DuplicateEmailException(email) : e;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Helper method to build a new Student from a validated request; the time is reported as "mapping" in Server-Timing
+    private Student toEntity(StudentRequestDTO studentRequestDTO) {
+        long started = System.nanoTime();
+        Student student = studentMapper.toEntity(studentRequestDTO);
+        ServerTiming.record(ServerTiming.Phase.MAPPING, System.nanoTime() - started);
+        return student;
+    }
+
+    private StudentResponseDTO convertToResponseDTO(ArchivedStudent student) {
+        long started = System.nanoTime();
+        StudentResponseDTO responseDTO = studentMapper.toResponseDTO(student);
+        ServerTiming.record(ServerTiming.Phase.MAPPING, System.nanoTime() - started);
+        return responseDTO;
+    }
+
+    // Helper method to convert Student entity to StudentResponseDTO; the time is reported as "mapping" in Server-Timing
     private StudentResponseDTO convertToResponseDTO(Student student) {
-        return new StudentResponseDTO(
-                student.getId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getEmail(),
-                student.getPhoneNumber(),
-                student.getDateOfBirth(),
-                student.getAddress(),
-                student.getDepartment(),
-                student.getEnrollmentYear(),
-                student.getIsActive(),
-                student.getCreatedAt(),
-                student.getUpdatedAt()
-        );
+        long started = System.nanoTime();
+        StudentResponseDTO responseDTO = studentMapper.toResponseDTO(student);
+        ServerTiming.record(ServerTiming.Phase.MAPPING, System.nanoTime() - started);
+        return responseDTO;
     }
 }
@@ -0,0 +1,38 @@
+package com.example.studentmanagement.sharding;
+
+import java.util.function.Supplier;
+
+// Shard the current thread's database work is routed to; null means the default shard
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    // Run work against the given shard (null = default), restoring the previous shard afterwards
+    public static <T> T callOn(Integer shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(Integer shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.studentmanagement.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Global email -> student id registry that keeps emails unique across shards.
+ *
+ * Each shard's uk_students_email only sees that shard's rows, so the sharded repository reserves
+ * an email here, with a primary-key insert on shard 0, before it writes a student with that email;
+ * a second reservation of the same email fails with the database's duplicate-key error. Registry
+ * writes commit on their own: a reservation made inside a transaction that rolls back is released
+ * again, and an email given up by a delete or an email change is released once that transaction
+ * commits. A crash between the two can leave a stale reservation behind, which blocks the email
+ * until its row is deleted from student_emails. Archived students keep their reservation, so an
+ * email stays taken until its student is deleted from either tier.
+ */
+public class ShardEmailRegistry {
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS student_emails ("
+            + "email VARCHAR(255) NOT NULL, "
+            + "student_id BIGINT, "
+            + "PRIMARY KEY (email), "
+            + "INDEX idx_student_emails_student_id (student_id))";
+
+    private static final int REGISTER_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardEmailRegistry(ShardRouter router) {
+        this.jdbcTemplate = new JdbcTemplate(router.dataSource(0));
+    }
+
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT email FROM student_emails LIMIT 1", String.class).isEmpty();
+    }
+
+    // Reserve an email for a student that is about to be written; throws DuplicateKeyException if it is taken
+    public void reserve(String email) {
+        jdbcTemplate.update("INSERT INTO student_emails (email, student_id) VALUES (?, NULL)", email);
+        onRollback(() -> release(email));
+    }
+
+    // Record which student a reserved email belongs to
+    public void assign(String email, long studentId) {
+        jdbcTemplate.update("UPDATE student_emails SET student_id = ? WHERE email = ?", studentId, email);
+    }
+
+    public Optional<String> emailOf(long studentId) {
+        return jdbcTemplate.queryForList("SELECT email FROM student_emails WHERE student_id = ?", String.class, studentId)
+                .stream().findFirst();
+    }
+
+    public void release(String email) {
+        jdbcTemplate.update("DELETE FROM student_emails WHERE email = ?", email);
+    }
+
+    // Release an email once the caller's transaction commits (right away without one)
+    public void releaseAfterCommit(String email) {
+        afterCommit(() -> release(email));
+    }
+
+    public void releaseStudentAfterCommit(long studentId) {
+        afterCommit(() -> jdbcTemplate.update("DELETE FROM student_emails WHERE student_id = ?", studentId));
+    }
+
+    public void clearAfterCommit() {
+        afterCommit(() -> jdbcTemplate.update("DELETE FROM student_emails"));
+    }
+
+    // Register the emails of students written without the repository (bulk loads, existing shards) and of
+    // archived students; returns how many were added
+    public int registerExisting(JdbcTemplate shard) {
+        return registerExisting(shard, "students") + registerExisting(shard, "archived_students");
+    }
+
+    private int registerExisting(JdbcTemplate shard, String table) {
+        int added = 0;
+        List<Object[]> batch = new ArrayList<>(REGISTER_BATCH_SIZE);
+        long afterId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = shard.queryForList("SELECT id, email FROM " + table + " WHERE id > ? ORDER BY id LIMIT "
+                    + REGISTER_BATCH_SIZE, afterId);
+            for (Map<String, Object> row : rows) {
+                afterId = ((Number) row.get("id")).longValue();
+                batch.add(new Object[]{row.get("email"), afterId, row.get("email")});
+            }
+            if (!batch.isEmpty()) {
+                for (int inserted : jdbcTemplate.batchUpdate("INSERT INTO student_emails (email, student_id) SELECT ?, ? "
+                        + "FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM student_emails WHERE email = ?)", batch)) {
+                    added += Math.max(inserted, 0);
+                }
+                batch.clear();
+            }
+            if (rows.size() < REGISTER_BATCH_SIZE) {
+                return added;
+            }
+        }
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
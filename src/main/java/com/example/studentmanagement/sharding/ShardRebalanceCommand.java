@@ -0,0 +1,56 @@
+package com.example.studentmanagement.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line rebalancing tool, run with the rebalance profile:
+ * mvn spring-boot:run -Dspring-boot.run.profiles=rebalance -Dspring-boot.run.arguments="--app.rebalance.from-id=1
+ *     --app.rebalance.to-id=500000 --app.rebalance.target-shard=1"
+ * Without a range it only reports the size of every shard. The application exits when it is done.
+ */
+@Component
+@Profile("rebalance")
+public class ShardRebalanceCommand implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalanceCommand.class);
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.rebalance.from-id:-1}")
+    private long fromId;
+
+    @Value("${app.rebalance.to-id:-1}")
+    private long toId;
+
+    @Value("${app.rebalance.target-shard:-1}")
+    private int targetShard;
+
+    @Override
+    public void run(String... args) {
+        rebalance();
+        // Closing the context stops the scheduler's threads, so the JVM exits; a failure closes it anyway
+        SpringApplication.exit(applicationContext);
+    }
+
+    private void rebalance() {
+        log.info("Shard sizes before: {}", shardRebalancer.shardSizes());
+        if (fromId < 0 || toId < 0 || targetShard < 0) {
+            log.info("No move requested (set app.rebalance.from-id, to-id and target-shard)");
+            return;
+        }
+        shardRebalancer.moveRange(fromId, toId, targetShard);
+        log.info("Shard sizes after: {}", shardRebalancer.shardSizes());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.studentmanagement.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves already-allocated id ranges between shards.
+ *
+ * Only ranges below the next id of both the source and the target shard can move; neither shard
+ * will allocate those ids again, so ids stay globally unique. Students and archived students in
+ * the range are moved in batches (see moveRows), then the range is relocated in the router. Email
+ * reservations are keyed by student id and outbox events are read from every shard, so neither
+ * moves. Writes to the range while it moves are not tracked, so run it during a maintenance window
+ * and add the logged relocation to the configuration of every instance.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String STUDENT_COLUMNS = "id, first_name, last_name, email, phone_number, date_of_birth, "
+            + "address, department, enrollment_year, is_active, created_at, updated_at";
+    private static final String ARCHIVED_STUDENT_COLUMNS = STUDENT_COLUMNS + ", archived_at";
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    // Row count per shard
+    public Map<Integer, Long> shardSizes() {
+        Map<Integer, Long> sizes = new LinkedHashMap<>();
+        for (int shard : shardRouter.shardIndexes()) {
+            sizes.put(shard, jdbc(shard).queryForObject("SELECT COUNT(*) FROM students", Long.class));
+        }
+        return sizes;
+    }
+
+    // Move ids [fromId, toId] to targetShard and return the number of students (hot and archived) moved
+    public long moveRange(long fromId, long toId, int targetShard) {
+        int sourceShard = shardRouter.shardForId(fromId);
+        if (fromId > toId || targetShard < 0 || targetShard >= shardRouter.getShardCount()) {
+            throw new IllegalArgumentException("Invalid move [" + fromId + ", " + toId + "] -> shard " + targetShard);
+        }
+        if (sourceShard == targetShard) {
+            throw new IllegalArgumentException("Ids [" + fromId + ", " + toId + "] already live on shard " + targetShard);
+        }
+        if (shardRouter.shardForId(toId) != sourceShard || shardRouter.hasRelocationBoundaryWithin(fromId, toId)) {
+            throw new IllegalArgumentException("Ids [" + fromId + ", " + toId + "] span more than one shard");
+        }
+        // Rows a failed earlier run has already moved to the target were allocated by the source too
+        long sourceNextId = Math.max(nextId(sourceShard), maxId(targetShard, fromId, toId) + 1);
+        if (sourceNextId <= toId || nextId(targetShard) <= toId) {
+            throw new IllegalArgumentException("Ids [" + fromId + ", " + toId + "] are not fully allocated on both shards"
+                    + " (next ids: source " + sourceNextId + ", target " + nextId(targetShard) + ")");
+        }
+
+        long moved = moveRows("students", STUDENT_COLUMNS, fromId, toId, sourceShard, targetShard);
+        long movedArchived = moveRows("archived_students", ARCHIVED_STUDENT_COLUMNS, fromId, toId, sourceShard, targetShard);
+
+        int relocationIndex = shardRouter.relocationCount();
+        shardRouter.addRelocation(fromId, toId, targetShard);
+        shardRouter.clearEmailDirectory();
+
+        log.info("Moved {} students and {} archived students with ids [{}, {}] from shard {} to shard {}. Add to the "
+                        + "configuration of every instance:"
+                        + "\n  app.sharding.relocations[{}].from-id={}\n  app.sharding.relocations[{}].to-id={}"
+                        + "\n  app.sharding.relocations[{}].shard={}",
+                moved, movedArchived, fromId, toId, sourceShard, targetShard,
+                relocationIndex, fromId, relocationIndex, toId, relocationIndex, targetShard);
+        return moved + movedArchived;
+    }
+
+    // Move the table's rows with ids in [fromId, toId] a batch at a time. Each batch is locked on the source, written
+    // to the target (replacing copies a failed earlier run may have left there) and, once that has committed, deleted
+    // from the source in the transaction that locked it, so a failure leaves at most one batch on both shards. The
+    // router sends the range to the source until the whole move is done; after a failure run the same move again.
+    private long moveRows(String table, String columns, long fromId, long toId, int sourceShard, int targetShard) {
+        JdbcTemplate source = jdbc(sourceShard);
+        JdbcTemplate target = jdbc(targetShard);
+        TransactionTemplate sourceTransaction = transaction(sourceShard);
+        TransactionTemplate targetTransaction = transaction(targetShard);
+        String insertSql = "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                + "?,".repeat(columns.split(",").length - 1) + "?)";
+        long moved = 0;
+        while (true) {
+            Integer batchSize = sourceTransaction.execute(status -> {
+                List<Map<String, Object>> rows = source.queryForList("SELECT " + columns + " FROM " + table
+                        + " WHERE id BETWEEN ? AND ? ORDER BY id LIMIT " + BATCH_SIZE + " FOR UPDATE", fromId, toId);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                long firstId = ((Number) rows.get(0).get("id")).longValue();
+                long lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+                List<Object[]> batch = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    batch.add(row.values().toArray());
+                }
+                targetTransaction.executeWithoutResult(targetStatus -> {
+                    target.update("DELETE FROM " + table + " WHERE id BETWEEN ? AND ?", firstId, lastId);
+                    target.batchUpdate(insertSql, batch);
+                });
+                source.update("DELETE FROM " + table + " WHERE id BETWEEN ? AND ?", firstId, lastId);
+                return rows.size();
+            });
+            if (batchSize == null || batchSize == 0) {
+                return moved;
+            }
+            moved += batchSize;
+        }
+    }
+
+    private TransactionTemplate transaction(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shardRouter.dataSource(shard)));
+    }
+
+    // Lowest id the shard could still allocate
+    private long nextId(int shard) {
+        return Math.max(maxId(shard, 0, Long.MAX_VALUE) + 1, shardRouter.rangeStart(shard));
+    }
+
+    // Highest hot or archived student id in [fromId, toId] on the shard, 0 if there is none
+    private long maxId(int shard, long fromId, long toId) {
+        Long maxId = jdbc(shard).queryForObject("SELECT GREATEST("
+                + "COALESCE((SELECT MAX(id) FROM students WHERE id BETWEEN ? AND ?), 0), "
+                + "COALESCE((SELECT MAX(id) FROM archived_students WHERE id BETWEEN ? AND ?), 0))",
+                Long.class, fromId, toId, fromId, toId);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardRouter.dataSource(shard));
+    }
+}
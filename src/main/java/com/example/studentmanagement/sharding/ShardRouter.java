@@ -0,0 +1,224 @@
+package com.example.studentmanagement.sharding;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Decides which shard holds a student.
+ *
+ * Ids map to shards through the configured id ranges (plus relocations), new students are placed
+ * round-robin on the shards that have not used up their id range, and emails are resolved through an email -> shard directory that is filled on
+ * writes and lookups. Directory misses fall back to asking every shard, so the directory is an
+ * optimisation and never the source of truth.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+    private final List<DataSource> shardDataSources;
+    private final long[] rangeStarts;
+    // Relocated range start -> [inclusive range end, shard]; consulted before the base ranges
+    private final NavigableMap<Long, long[]> relocations = new TreeMap<>();
+    private final Map<String, Integer> emailDirectory = new ConcurrentHashMap<>();
+    private final AtomicLong placementCounter = new AtomicLong();
+    // Shards that have allocated the last id of their range; no new students are placed on them
+    private final Set<Integer> fullShards = ConcurrentHashMap.newKeySet();
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardingProperties properties, List<DataSource> shardDataSources) {
+        this.shardCount = properties.getShards().size();
+        this.shardDataSources = List.copyOf(shardDataSources);
+        this.rangeStarts = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            rangeStarts[shard] = properties.getShards().get(shard).getIdRangeStart();
+            if (shard > 0 && rangeStarts[shard] <= rangeStarts[shard - 1]) {
+                throw new IllegalStateException("Shard id ranges must be increasing: shard " + shard);
+            }
+        }
+        for (ShardingProperties.Relocation relocation : properties.getRelocations()) {
+            addRelocation(relocation.getFromId(), relocation.getToId(), relocation.getShard());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(2, shardCount * 2), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public List<Integer> shardIndexes() {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    // The shard's own connection pool, bypassing routing (schema setup, rebalancing)
+    public DataSource dataSource(int shard) {
+        return shardDataSources.get(shard);
+    }
+
+    public long rangeStart(int shard) {
+        return rangeStarts[shard];
+    }
+
+    // Exclusive end of the shard's own allocation range
+    public long rangeEnd(int shard) {
+        return shard + 1 < shardCount ? rangeStarts[shard + 1] : Long.MAX_VALUE;
+    }
+
+    public int shardForId(long id) {
+        synchronized (relocations) {
+            Map.Entry<Long, long[]> relocation = relocations.floorEntry(id);
+            if (relocation != null && id <= relocation.getValue()[0]) {
+                return (int) relocation.getValue()[1];
+            }
+        }
+        for (int shard = shardCount - 1; shard > 0; shard--) {
+            if (id >= rangeStarts[shard]) {
+                return shard;
+            }
+        }
+        return 0;
+    }
+
+    // Shard for a new student
+    public int placementShard() {
+        for (int attempt = 0; attempt < shardCount; attempt++) {
+            int shard = (int) (placementCounter.getAndIncrement() % shardCount);
+            if (!fullShards.contains(shard)) {
+                return shard;
+            }
+        }
+        throw new IllegalStateException("Every shard has used up its id range");
+    }
+
+    public void markFull(int shard) {
+        fullShards.add(shard);
+    }
+
+    public boolean isFull(int shard) {
+        return fullShards.contains(shard);
+    }
+
+    // Check an id the shard's AUTO_INCREMENT just allocated. Past the end of the range it belongs to the next
+    // shard, where lookups would look for it, so the write is refused and nothing more is placed on the shard.
+    public void checkAllocatedId(int shard, long id) {
+        long rangeEnd = rangeEnd(shard);
+        if (id >= rangeEnd - 1) {
+            markFull(shard);
+        }
+        if (id < rangeStarts[shard] || id >= rangeEnd) {
+            throw new IllegalStateException("Shard " + shard + " allocated id " + id + " outside its id range ["
+                    + rangeStarts[shard] + ", " + rangeEnd + ")");
+        }
+    }
+
+    // Route the inclusive id range [fromId, toId] to shard
+    public void addRelocation(long fromId, long toId, int shard) {
+        if (fromId > toId || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Invalid relocation [" + fromId + ", " + toId + "] -> shard " + shard);
+        }
+        synchronized (relocations) {
+            Map.Entry<Long, long[]> before = relocations.floorEntry(toId);
+            if (before != null && before.getValue()[0] >= fromId) {
+                throw new IllegalArgumentException("Relocation [" + fromId + ", " + toId + "] overlaps an existing relocation");
+            }
+            relocations.put(fromId, new long[]{toId, shard});
+        }
+    }
+
+    public Optional<Integer> shardForEmail(String email) {
+        return Optional.ofNullable(emailDirectory.get(email));
+    }
+
+    public void rememberEmail(String email, int shard) {
+        if (email != null) {
+            emailDirectory.put(email, shard);
+        }
+    }
+
+    public void forgetEmail(String email) {
+        if (email != null) {
+            emailDirectory.remove(email);
+        }
+    }
+
+    public void clearEmailDirectory() {
+        emailDirectory.clear();
+    }
+
+    // Run work on every shard in parallel and return the per-shard results in shard order
+    public <T> List<T> scatter(Function<Integer, T> work) {
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            Callable<T> task = () -> ShardContext.callOn(target, () -> work.apply(target));
+            futures.add(scatterExecutor.submit(task));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during scatter-gather", e);
+        }
+        return results;
+    }
+
+    public int relocationCount() {
+        synchronized (relocations) {
+            return relocations.size();
+        }
+    }
+
+    // True if a relocation starts inside (fromId, toId]
+    public boolean hasRelocationBoundaryWithin(long fromId, long toId) {
+        synchronized (relocations) {
+            return !relocations.subMap(fromId, false, toId, true).isEmpty();
+        }
+    }
+
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+        for (DataSource dataSource : shardDataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    // Pool is going away anyway
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.studentmanagement.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prepares every shard before the application starts serving.
+ *
+ * Shard 0 gets its schema like an unsharded database (Hibernate ddl-auto or Flyway); the other
+ * shards are migrated here with the same Flyway scripts. Each shard's id counter is then moved to
+ * the start of its id range, which is what keeps ids globally unique; a shard that has already
+ * allocated the last id of its range gets no new students. Emails are kept globally
+ * unique by the student_emails registry on shard 0, which is created here and, when it is still
+ * empty, filled with the emails already stored on the shards.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardSchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardEmailRegistry shardEmailRegistry;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void initializeShards() {
+        for (int shard : shardRouter.shardIndexes()) {
+            if (shard > 0) {
+                Flyway.configure()
+                        .dataSource(shardRouter.dataSource(shard))
+                        .baselineOnMigrate(true)
+                        .baselineVersion("0")
+                        .load()
+                        .migrate();
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRouter.dataSource(shard));
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students", Long.class);
+            long rangeStart = shardRouter.rangeStart(shard);
+            if (rangeStart > 1 && (maxId == null || maxId < rangeStart)) {
+                jdbcTemplate.execute("ALTER TABLE students AUTO_INCREMENT = " + rangeStart);
+            }
+            long rangeEnd = shardRouter.rangeEnd(shard);
+            if (maxId != null && maxId >= rangeEnd - 1) {
+                shardRouter.markFull(shard);
+                log.error("Shard {} has used up its id range [{}, {}) (max id {}); new students go to the other shards",
+                        shard, rangeStart, rangeEnd, maxId);
+            } else if (maxId != null && rangeEnd != Long.MAX_VALUE && maxId >= rangeEnd - (rangeEnd - rangeStart) / 10) {
+                log.warn("Shard {} has used more than 90% of its id range [{}, {})", shard, rangeStart, rangeEnd);
+            }
+            log.info("Shard {} ready: id range [{}, {}), current max id {}", shard, rangeStart,
+                    rangeEnd == Long.MAX_VALUE ? "unbounded" : rangeEnd, maxId);
+        }
+
+        shardEmailRegistry.createTable();
+        if (shardEmailRegistry.isEmpty()) {
+            for (int shard : shardRouter.shardIndexes()) {
+                int registered = shardEmailRegistry.registerExisting(new JdbcTemplate(shardRouter.dataSource(shard)));
+                if (registered > 0) {
+                    log.info("Registered {} existing emails of shard {} in the email registry", registered, shard);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.studentmanagement.sharding;
+
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.repository.StudentRepository;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes StudentRepository calls to shards.
+ *
+ * Single-key operations (by id, by email, saving one student) run on one shard. Multi-id lookups
+ * are grouped per shard. Other queries scatter to every shard in parallel and merge the results:
+ * lists in the requested Sort (id order without one), pages by asking every shard for its first
+ * offset + size rows, Optionals by requiring at most one match; counts are summed, boolean checks
+ * OR-ed and void operations broadcast. Methods whose results cannot be merged are rejected when
+ * the proxy is built (declared on StudentRepository) or on the first call, before any shard is
+ * queried (inherited). Emails are kept unique across shards through ShardEmailRegistry.
+ */
+public class ShardedStudentRepositoryHandler implements InvocationHandler {
+
+    private static final Comparator<Student> BY_ID = Comparator.comparing(Student::getId);
+
+    // Handled by name in invoke(); everything else scatters
+    private static final Set<String> ROUTED_METHODS = Set.of("findById", "existsById", "deleteById", "getReferenceById",
+            "getById", "getOne", "save", "saveAndFlush", "delete", "saveAll", "saveAllAndFlush", "findByEmail",
+            "findByIdIn", "findAllById", "deleteAll", "deleteAllInBatch", "deleteAllById", "deleteAllByIdInBatch");
+
+    private final StudentRepository target;
+    private final ShardRouter router;
+    private final ShardEmailRegistry emailRegistry;
+    private final Set<Method> unmergeable = new HashSet<>();
+
+    public ShardedStudentRepositoryHandler(StudentRepository target, ShardRouter router, ShardEmailRegistry emailRegistry) {
+        this.target = target;
+        this.router = router;
+        this.emailRegistry = emailRegistry;
+        for (Method method : StudentRepository.class.getMethods()) {
+            if (ROUTED_METHODS.contains(method.getName()) || isMergeable(method.getReturnType())) {
+                continue;
+            }
+            if (method.getDeclaringClass() == StudentRepository.class) {
+                throw new IllegalStateException("StudentRepository." + method.getName() + " returns "
+                        + method.getReturnType().getSimpleName() + ", which cannot be merged across shards");
+            }
+            unmergeable.add(method);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "Sharded" + target;
+            };
+        }
+
+        String name = method.getName();
+        switch (name) {
+            case "findById", "existsById", "getReferenceById", "getById", "getOne":
+                return onShard(router.shardForId((Long) args[0]), method, args);
+            case "deleteById":
+                emailRegistry.releaseStudentAfterCommit((Long) args[0]);
+                return onShard(router.shardForId((Long) args[0]), method, args);
+            case "save", "saveAndFlush":
+                return save(method, args);
+            case "delete":
+                Student deleted = (Student) args[0];
+                router.forgetEmail(deleted.getEmail());
+                emailRegistry.releaseStudentAfterCommit(deleted.getId());
+                return onShard(router.shardForId(deleted.getId()), method, args);
+            case "deleteAll", "deleteAllInBatch", "deleteAllById", "deleteAllByIdInBatch":
+                return deleteMany(method, args);
+            case "saveAll", "saveAllAndFlush":
+                return saveAll(method, args);
+            case "findByEmail":
+                return findByEmail(method, args);
+            case "findByIdIn", "findAllById":
+                return findByIds(method, args);
+            default:
+                return scatterGather(method, args);
+        }
+    }
+
+    private Object save(Method method, Object[] args) throws Throwable {
+        Student student = (Student) args[0];
+        EmailChange change = reserveEmail(student);
+        boolean newStudent = student.getId() == null;
+        int shard = shardFor(student);
+        Student saved;
+        try {
+            saved = (Student) onShard(shard, method, args);
+            if (newStudent) {
+                checkAllocatedId(shard, saved);
+            }
+        } catch (Throwable e) {
+            releaseUnwritten(List.of(change));
+            throw e;
+        }
+        completeEmailChange(change, saved);
+        router.rememberEmail(saved.getEmail(), router.shardForId(saved.getId()));
+        return saved;
+    }
+
+    // A transaction stays on the shard its first statement went to, so callers that create students in a
+    // transaction pick the shard before it opens (ShardContext); otherwise new students are placed round-robin
+    private int shardFor(Student student) {
+        if (student.getId() != null) {
+            return router.shardForId(student.getId());
+        }
+        Integer bound = ShardContext.current();
+        return bound != null ? bound : router.placementShard();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object saveAll(Method method, Object[] args) throws Throwable {
+        List<Student> students = new ArrayList<>();
+        ((Iterable<Student>) args[0]).forEach(students::add);
+
+        List<EmailChange> changes = new ArrayList<>(students.size());
+        try {
+            for (Student student : students) {
+                changes.add(reserveEmail(student));
+            }
+        } catch (RuntimeException e) {
+            releaseUnwritten(changes);
+            throw e;
+        }
+
+        // Group by shard, remembering each student's position so the result keeps input order
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        boolean[] newStudents = new boolean[students.size()];
+        for (int position = 0; position < students.size(); position++) {
+            Student student = students.get(position);
+            newStudents[position] = student.getId() == null;
+            int shard = shardFor(student);
+            positionsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(position);
+        }
+
+        Student[] saved = new Student[students.size()];
+        try {
+            for (Map.Entry<Integer, List<Integer>> group : positionsByShard.entrySet()) {
+                List<Student> batch = new ArrayList<>(group.getValue().size());
+                group.getValue().forEach(position -> batch.add(students.get(position)));
+                List<Student> batchSaved = (List<Student>) onShard(group.getKey(), method, new Object[]{batch});
+                for (int i = 0; i < batchSaved.size(); i++) {
+                    saved[group.getValue().get(i)] = batchSaved.get(i);
+                    if (newStudents[group.getValue().get(i)]) {
+                        checkAllocatedId(group.getKey(), batchSaved.get(i));
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            releaseUnwritten(changes);
+            throw e;
+        }
+        for (int position = 0; position < saved.length; position++) {
+            completeEmailChange(changes.get(position), saved[position]);
+            router.rememberEmail(saved[position].getEmail(), router.shardForId(saved[position].getId()));
+        }
+        return new ArrayList<>(List.of(saved));
+    }
+
+    // Refuse a new student whose id the shard allocated past the end of its range
+    private void checkAllocatedId(int shard, Student saved) {
+        try {
+            router.checkAllocatedId(shard, saved.getId());
+        } catch (IllegalStateException e) {
+            // Inside a transaction the exception rolls the insert back; without one it has already committed
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                ShardContext.runOn(shard, () -> target.deleteById(saved.getId()));
+            }
+            throw e;
+        }
+    }
+
+    // Reserve the student's email unless it is already registered to this student
+    private EmailChange reserveEmail(Student student) {
+        String previousEmail = student.getId() == null ? null : emailRegistry.emailOf(student.getId()).orElse(null);
+        if (Objects.equals(student.getEmail(), previousEmail)) {
+            return null;
+        }
+        emailRegistry.reserve(student.getEmail());
+        return new EmailChange(student.getEmail(), previousEmail);
+    }
+
+    private void completeEmailChange(EmailChange change, Student saved) {
+        if (change == null) {
+            return;
+        }
+        emailRegistry.assign(change.email(), saved.getId());
+        if (change.previousEmail() != null) {
+            emailRegistry.releaseAfterCommit(change.previousEmail());
+        }
+    }
+
+    // Inside a transaction the failed write rolls it back, which releases the reservations
+    private void releaseUnwritten(List<EmailChange> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (EmailChange change : changes) {
+            if (change != null) {
+                emailRegistry.release(change.email());
+            }
+        }
+    }
+
+    // Deletes broadcast to every shard; the registry gives up the emails once the deletes commit
+    @SuppressWarnings("unchecked")
+    private Object deleteMany(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            router.clearEmailDirectory();
+            emailRegistry.clearAfterCommit();
+        } else {
+            for (Object entityOrId : (Iterable<Object>) args[0]) {
+                if (entityOrId instanceof Student student) {
+                    router.forgetEmail(student.getEmail());
+                    emailRegistry.releaseStudentAfterCommit(student.getId());
+                } else {
+                    emailRegistry.releaseStudentAfterCommit((Long) entityOrId);
+                }
+            }
+        }
+        return scatterGather(method, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object findByEmail(Method method, Object[] args) throws Throwable {
+        String email = (String) args[0];
+        Optional<Integer> knownShard = router.shardForEmail(email);
+        if (knownShard.isPresent()) {
+            Optional<Student> student = (Optional<Student>) onShard(knownShard.get(), method, args);
+            if (student.isPresent()) {
+                return student;
+            }
+            router.forgetEmail(email);
+        }
+
+        List<Object> perShard = router.scatter(shard -> invokeTarget(method, args));
+        for (int shard = 0; shard < perShard.size(); shard++) {
+            Optional<Student> student = (Optional<Student>) perShard.get(shard);
+            if (student.isPresent()) {
+                router.rememberEmail(email, shard);
+                return student;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object findByIds(Method method, Object[] args) throws Throwable {
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : (Iterable<Long>) args[0]) {
+            idsByShard.computeIfAbsent(router.shardForId(id), key -> new ArrayList<>()).add(id);
+        }
+        List<Student> found = new ArrayList<>();
+        List<Object> perShard = router.scatter(shard -> {
+            List<Long> ids = idsByShard.get(shard);
+            return ids == null ? List.of() : invokeTarget(method, new Object[]{ids});
+        });
+        perShard.forEach(result -> found.addAll((Collection<Student>) result));
+        found.sort(BY_ID);
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object scatterGather(Method method, Object[] args) {
+        if (unmergeable.contains(method)) {
+            throw new UnsupportedOperationException("No shard routing for StudentRepository." + method.getName());
+        }
+        Class<?> returnType = method.getReturnType();
+        if (Page.class.isAssignableFrom(returnType)) {
+            return mergePages(method, args);
+        }
+        List<Object> perShard = router.scatter(shard -> invokeTarget(method, args));
+        if (List.class.isAssignableFrom(returnType)) {
+            List<Object> merged = new ArrayList<>();
+            perShard.forEach(result -> merged.addAll((Collection<Object>) result));
+            sortMerged(merged, argument(args, Sort.class).orElse(Sort.unsorted()));
+            return merged;
+        }
+        if (returnType == Optional.class) {
+            List<Object> found = perShard.stream().flatMap(result -> ((Optional<Object>) result).stream()).toList();
+            if (found.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, found.size());
+            }
+            return found.stream().findFirst();
+        }
+        if (returnType == long.class || returnType == Long.class) {
+            return perShard.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        }
+        if (returnType == int.class || returnType == Integer.class) {
+            return perShard.stream().mapToInt(result -> ((Number) result).intValue()).sum();
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return perShard.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        return null;
+    }
+
+    // Every shard returns its first offset + size rows in page order; the requested page is among them
+    private Object mergePages(Method method, Object[] args) {
+        Pageable pageable = argument(args, Pageable.class).orElse(Pageable.unpaged());
+        Sort sort = pageable.getSort().getOrderFor("id") == null ? pageable.getSort().and(Sort.by("id")) : pageable.getSort();
+        Object[] shardArgs = args.clone();
+        for (int i = 0; i < shardArgs.length; i++) {
+            if (shardArgs[i] instanceof Pageable) {
+                shardArgs[i] = pageable.isPaged()
+                        ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort)
+                        : pageable;
+            }
+        }
+        List<Object> merged = new ArrayList<>();
+        long total = 0;
+        for (Object result : router.scatter(shard -> invokeTarget(method, shardArgs))) {
+            Page<?> page = (Page<?>) result;
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        sortMerged(merged, sort);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    // Order merged rows like the database would: by the requested Sort, then by id
+    private static void sortMerged(List<Object> merged, Sort sort) {
+        if (!merged.stream().allMatch(Student.class::isInstance)) {
+            return;
+        }
+        Comparator<Object> order = (left, right) -> 0;
+        for (Sort.Order sortOrder : sort) {
+            order = order.thenComparing(byProperty(sortOrder));
+        }
+        merged.sort(order.thenComparing(student -> (Student) student, BY_ID));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> byProperty(Sort.Order sortOrder) {
+        Comparator<Comparable<Object>> values = Comparator.naturalOrder();
+        if (sortOrder.isDescending()) {
+            values = values.reversed();
+        }
+        // MySQL sorts NULL as the smallest value
+        boolean nullsFirst = switch (sortOrder.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> sortOrder.isAscending();
+        };
+        return Comparator.comparing(entity -> {
+            Object value = new BeanWrapperImpl(entity).getPropertyValue(sortOrder.getProperty());
+            if (sortOrder.isIgnoreCase() && value instanceof String text) {
+                value = text.toLowerCase();
+            }
+            return (Comparable<Object>) value;
+        }, nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+    }
+
+    private static boolean isMergeable(Class<?> returnType) {
+        return List.class.isAssignableFrom(returnType) || Page.class.isAssignableFrom(returnType)
+                || returnType == Optional.class || returnType == void.class
+                || returnType == long.class || returnType == Long.class
+                || returnType == int.class || returnType == Integer.class
+                || returnType == boolean.class || returnType == Boolean.class;
+    }
+
+    private static <T> Optional<T> argument(Object[] args, Class<T> type) {
+        if (args == null) {
+            return Optional.empty();
+        }
+        for (Object arg : args) {
+            if (type.isInstance(arg)) {
+                return Optional.of(type.cast(arg));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Object onShard(int shard, Method method, Object[] args) throws Throwable {
+        try {
+            return ShardContext.callOn(shard, () -> invokeTarget(method, args));
+        } catch (TargetInvocationFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TargetInvocationFailure(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // An email reserved for a write and the one it replaces (null for a new student)
+    private record EmailChange(String email, String previousEmail) {
+    }
+
+    // Carries checked exceptions of the target through Supplier-based routing
+    private static class TargetInvocationFailure extends RuntimeException {
+        TargetInvocationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.studentmanagement.sharding;
+
+import com.example.studentmanagement.repository.StudentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enables sharding of the students table with app.sharding.enabled=true.
+ *
+ * Replaces the single DataSource with a routing DataSource over one pool per shard (shard 0 is
+ * the default for anything not routed) and wraps StudentRepository so every call is routed by
+ * ShardRouter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled=true requires at least one app.sharding.shards entry");
+        }
+        List<DataSource> shardDataSources = new ArrayList<>();
+        for (int shard = 0; shard < properties.getShards().size(); shard++) {
+            ShardingProperties.Shard config = properties.getShards().get(shard);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(config.getUrl())
+                    .username(config.getUsername())
+                    .password(config.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            shardDataSources.add(dataSource);
+        }
+        return new ShardRouter(properties, shardDataSources);
+    }
+
+    @Bean
+    public ShardEmailRegistry shardEmailRegistry(ShardRouter shardRouter) {
+        return new ShardEmailRegistry(shardRouter);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRouter shardRouter) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard : shardRouter.shardIndexes()) {
+            targets.put(shard, shardRouter.dataSource(shard));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shardRouter.dataSource(0));
+        routingDataSource.afterPropertiesSet();
+        // A transaction fetches its connection at the first statement, so it binds to the shard that statement is routed to
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public static BeanPostProcessor shardedStudentRepositoryPostProcessor(ObjectProvider<ShardRouter> shardRouter,
+                                                                          ObjectProvider<ShardEmailRegistry> shardEmailRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof StudentRepository repository) || Proxy.isProxyClass(bean.getClass())
+                        && Proxy.getInvocationHandler(bean) instanceof ShardedStudentRepositoryHandler) {
+                    return bean;
+                }
+                return Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+                        new Class<?>[]{StudentRepository.class},
+                        new ShardedStudentRepositoryHandler(repository, shardRouter.getObject(),
+                                shardEmailRegistry.getObject()));
+            }
+        };
+    }
+}
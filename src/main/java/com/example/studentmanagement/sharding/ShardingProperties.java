@@ -0,0 +1,114 @@
+package com.example.studentmanagement.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard layout, bound from app.sharding.*.
+ *
+ * Shard i owns ids from its idRangeStart up to the next shard's idRangeStart; the students table
+ * on each shard allocates ids from the start of its range. Relocations move already-allocated id
+ * ranges to another shard (written by the rebalancing tool).
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private List<Shard> shards = new ArrayList<>();
+    private List<Relocation> relocations = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public List<Relocation> getRelocations() {
+        return relocations;
+    }
+
+    public void setRelocations(List<Relocation> relocations) {
+        this.relocations = relocations;
+    }
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private long idRangeStart;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public long getIdRangeStart() {
+            return idRangeStart;
+        }
+
+        public void setIdRangeStart(long idRangeStart) {
+            this.idRangeStart = idRangeStart;
+        }
+    }
+
+    public static class Relocation {
+        private long fromId;
+        private long toId;
+        private int shard;
+
+        public long getFromId() {
+            return fromId;
+        }
+
+        public void setFromId(long fromId) {
+            this.fromId = fromId;
+        }
+
+        public long getToId() {
+            return toId;
+        }
+
+        public void setToId(long toId) {
+            this.toId = toId;
+        }
+
+        public int getShard() {
+            return shard;
+        }
+
+        public void setShard(int shard) {
+            this.shard = shard;
+        }
+    }
+}
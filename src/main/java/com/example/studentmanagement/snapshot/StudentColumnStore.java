@@ -0,0 +1,404 @@
+package com.example.studentmanagement.snapshot;
+
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.monitoring.ServerTiming;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-wise in-memory copy of the students table.
+ *
+ * Rows are kept in parallel arrays: primitives for ids, years and dates (as epoch days), a bitset
+ * for isActive and dictionary codes for department. Rows up to sortedSize are sorted by id; a
+ * student whose id is not above every sorted id (e.g. a create on a lower shard) is appended after
+ * them instead, as an unsorted row indexed by id, so no write moves existing rows. Reads merge the
+ * two in id order. Deleted rows are tombstoned in a second bitset; compaction drops them and merges
+ * the unsorted rows into the sorted ones once either makes up a large enough share of the rows.
+ */
+public class StudentColumnStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+    // Unsorted rows beyond max(this, sorted rows / UNSORTED_SHARE) trigger a compaction
+    private static final int MIN_UNSORTED_LIMIT = 1024;
+    private static final int UNSORTED_SHARE = 32;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int sortedSize;
+    private int deleted;
+    // Rows from sortedSize on, by id
+    private final TreeMap<Long, Integer> unsortedRows = new TreeMap<>();
+    private long[] ids;
+    private int[] enrollmentYears;
+    private int[] dateOfBirthDays;
+    private int[] createdAtDays;
+    private int[] updatedAtDays;
+    private int[] departmentCodes;
+    private String[] firstNames;
+    private String[] lastNames;
+    private String[] emails;
+    private String[] phoneNumbers;
+    private String[] addresses;
+    private final BitSet active = new BitSet();
+    private final BitSet live = new BitSet();
+    private final BitSet activeIsNull = new BitSet();
+
+    private final List<String> departmentDictionary = new ArrayList<>();
+    private final Map<String, Integer> departmentCodeByName = new HashMap<>();
+
+    public StudentColumnStore() {
+        this(1024);
+    }
+
+    public StudentColumnStore(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    // Insert or replace the row for student.getId()
+    public void upsert(Student student) {
+        lock.writeLock().lock();
+        try {
+            long id = student.getId();
+            int row;
+            if (size == sortedSize && (sortedSize == 0 || ids[sortedSize - 1] < id)) {
+                row = size;
+                ensureCapacity(size + 1);
+                size++;
+                sortedSize++;
+            } else {
+                row = find(id);
+                if (row >= 0) {
+                    if (!live.get(row)) {
+                        deleted--;
+                    }
+                } else {
+                    row = size;
+                    ensureCapacity(size + 1);
+                    size++;
+                    unsortedRows.put(id, row);
+                }
+            }
+            write(row, student);
+            if (unsortedRows.size() > Math.max(MIN_UNSORTED_LIMIT, sortedSize / UNSORTED_SHARE)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = find(id);
+            if (row >= 0 && live.get(row)) {
+                live.clear(row);
+                deleted++;
+                if (deleted > size / 4) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // All students (or active ones only) in id order
+    public List<StudentResponseDTO> list(boolean activeOnly) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = (BitSet) live.clone();
+            if (activeOnly) {
+                rows.and(active);
+            }
+            return toDTOs(rows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StudentResponseDTO> listByDepartment(String department) {
+        lock.readLock().lock();
+        try {
+            return toDTOs(departmentRows(department));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Count with optional isActive and department filters (null = any)
+    public long count(Boolean isActive, String department) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = department == null ? (BitSet) live.clone() : departmentRows(department);
+            if (isActive != null) {
+                if (isActive) {
+                    rows.and(active);
+                } else {
+                    rows.andNot(active);
+                    rows.andNot(activeIsNull);
+                }
+            }
+            return rows.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int liveRows() {
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate heap bytes held by the store, including string contents
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            int capacity = ids.length;
+            long bytes = 8L * capacity                      // ids
+                    + 4L * 5 * capacity                     // years, dates, department codes
+                    + 4L * 5 * capacity                     // string references (compressed oops)
+                    + 3L * (capacity / 8)                   // bitsets
+                    + 64L * unsortedRows.size();            // unsorted row index entries
+            for (int row = 0; row < size; row++) {
+                bytes += stringBytes(firstNames[row]) + stringBytes(lastNames[row]) + stringBytes(emails[row])
+                        + stringBytes(phoneNumbers[row]) + stringBytes(addresses[row]);
+            }
+            for (String department : departmentDictionary) {
+                bytes += stringBytes(department);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet departmentRows(String department) {
+        BitSet rows = new BitSet(size);
+        Integer code = departmentCodeByName.get(department);
+        if (code == null) {
+            return rows;
+        }
+        int wanted = code;
+        for (int row = 0; row < size; row++) {
+            if (departmentCodes[row] == wanted) {
+                rows.set(row);
+            }
+        }
+        rows.and(live);
+        return rows;
+    }
+
+    // The selected rows in id order: sorted rows merged with the selected unsorted ones
+    private List<StudentResponseDTO> toDTOs(BitSet rows) {
+        long started = System.nanoTime();
+        List<StudentResponseDTO> result = new ArrayList<>(rows.cardinality());
+        int sortedRow = nextSortedRow(rows, 0);
+        Iterator<Integer> unsorted = unsortedRows.values().iterator();
+        int unsortedRow = nextUnsortedRow(rows, unsorted);
+        while (sortedRow >= 0 || unsortedRow >= 0) {
+            if (unsortedRow < 0 || sortedRow >= 0 && ids[sortedRow] < ids[unsortedRow]) {
+                result.add(toDTO(sortedRow));
+                sortedRow = nextSortedRow(rows, sortedRow + 1);
+            } else {
+                result.add(toDTO(unsortedRow));
+                unsortedRow = nextUnsortedRow(rows, unsorted);
+            }
+        }
+        ServerTiming.record(ServerTiming.Phase.MAPPING, System.nanoTime() - started);
+        return result;
+    }
+
+    private int nextSortedRow(BitSet rows, int from) {
+        int row = rows.nextSetBit(from);
+        return row < sortedSize ? row : -1;
+    }
+
+    private static int nextUnsortedRow(BitSet rows, Iterator<Integer> unsorted) {
+        while (unsorted.hasNext()) {
+            int row = unsorted.next();
+            if (rows.get(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private StudentResponseDTO toDTO(int row) {
+        return new StudentResponseDTO(
+                ids[row],
+                firstNames[row],
+                lastNames[row],
+                emails[row],
+                phoneNumbers[row],
+                toDate(dateOfBirthDays[row]),
+                addresses[row],
+                departmentCodes[row] == NULL_CODE ? null : departmentDictionary.get(departmentCodes[row]),
+                enrollmentYears[row] == NULL_INT ? null : enrollmentYears[row],
+                activeIsNull.get(row) ? null : active.get(row),
+                toDate(createdAtDays[row]),
+                toDate(updatedAtDays[row])
+        );
+    }
+
+    // Row holding the id, or -1
+    private int find(long id) {
+        int row = Arrays.binarySearch(ids, 0, sortedSize, id);
+        if (row >= 0) {
+            return row;
+        }
+        Integer unsortedRow = unsortedRows.get(id);
+        return unsortedRow == null ? -1 : unsortedRow;
+    }
+
+    private void write(int row, Student student) {
+        ids[row] = student.getId();
+        enrollmentYears[row] = student.getEnrollmentYear() == null ? NULL_INT : student.getEnrollmentYear();
+        dateOfBirthDays[row] = toDays(student.getDateOfBirth());
+        createdAtDays[row] = toDays(student.getCreatedAt());
+        updatedAtDays[row] = toDays(student.getUpdatedAt());
+        departmentCodes[row] = departmentCode(student.getDepartment());
+        firstNames[row] = student.getFirstName();
+        lastNames[row] = student.getLastName();
+        emails[row] = student.getEmail();
+        phoneNumbers[row] = student.getPhoneNumber();
+        addresses[row] = student.getAddress();
+        active.set(row, Boolean.TRUE.equals(student.getIsActive()));
+        activeIsNull.set(row, student.getIsActive() == null);
+        live.set(row);
+    }
+
+    private int departmentCode(String department) {
+        if (department == null) {
+            return NULL_CODE;
+        }
+        return departmentCodeByName.computeIfAbsent(department, name -> {
+            departmentDictionary.add(name);
+            return departmentDictionary.size() - 1;
+        });
+    }
+
+    // Drop tombstoned rows and merge the unsorted rows into the sorted ones, in id order
+    private void compact() {
+        int[] order = new int[size - deleted];
+        int count = 0;
+        int sortedRow = nextSortedRow(live, 0);
+        Iterator<Integer> unsorted = unsortedRows.values().iterator();
+        int unsortedRow = nextUnsortedRow(live, unsorted);
+        while (sortedRow >= 0 || unsortedRow >= 0) {
+            if (unsortedRow < 0 || sortedRow >= 0 && ids[sortedRow] < ids[unsortedRow]) {
+                order[count++] = sortedRow;
+                sortedRow = nextSortedRow(live, sortedRow + 1);
+            } else {
+                order[count++] = unsortedRow;
+                unsortedRow = nextUnsortedRow(live, unsorted);
+            }
+        }
+
+        int capacity = ids.length;
+        long[] newIds = new long[capacity];
+        int[] newEnrollmentYears = new int[capacity];
+        int[] newDateOfBirthDays = new int[capacity];
+        int[] newCreatedAtDays = new int[capacity];
+        int[] newUpdatedAtDays = new int[capacity];
+        int[] newDepartmentCodes = new int[capacity];
+        String[] newFirstNames = new String[capacity];
+        String[] newLastNames = new String[capacity];
+        String[] newEmails = new String[capacity];
+        String[] newPhoneNumbers = new String[capacity];
+        String[] newAddresses = new String[capacity];
+        BitSet newActive = new BitSet(capacity);
+        BitSet newActiveIsNull = new BitSet(capacity);
+        for (int target = 0; target < count; target++) {
+            int row = order[target];
+            newIds[target] = ids[row];
+            newEnrollmentYears[target] = enrollmentYears[row];
+            newDateOfBirthDays[target] = dateOfBirthDays[row];
+            newCreatedAtDays[target] = createdAtDays[row];
+            newUpdatedAtDays[target] = updatedAtDays[row];
+            newDepartmentCodes[target] = departmentCodes[row];
+            newFirstNames[target] = firstNames[row];
+            newLastNames[target] = lastNames[row];
+            newEmails[target] = emails[row];
+            newPhoneNumbers[target] = phoneNumbers[row];
+            newAddresses[target] = addresses[row];
+            if (active.get(row)) {
+                newActive.set(target);
+            }
+            if (activeIsNull.get(row)) {
+                newActiveIsNull.set(target);
+            }
+        }
+        ids = newIds;
+        enrollmentYears = newEnrollmentYears;
+        dateOfBirthDays = newDateOfBirthDays;
+        createdAtDays = newCreatedAtDays;
+        updatedAtDays = newUpdatedAtDays;
+        departmentCodes = newDepartmentCodes;
+        firstNames = newFirstNames;
+        lastNames = newLastNames;
+        emails = newEmails;
+        phoneNumbers = newPhoneNumbers;
+        addresses = newAddresses;
+        active.clear();
+        active.or(newActive);
+        activeIsNull.clear();
+        activeIsNull.or(newActiveIsNull);
+        live.clear();
+        live.set(0, count);
+        unsortedRows.clear();
+        size = count;
+        sortedSize = count;
+        deleted = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            allocate(Math.max(required, ids.length + (ids.length >> 1)));
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        enrollmentYears = enrollmentYears == null ? new int[capacity] : Arrays.copyOf(enrollmentYears, capacity);
+        dateOfBirthDays = dateOfBirthDays == null ? new int[capacity] : Arrays.copyOf(dateOfBirthDays, capacity);
+        createdAtDays = createdAtDays == null ? new int[capacity] : Arrays.copyOf(createdAtDays, capacity);
+        updatedAtDays = updatedAtDays == null ? new int[capacity] : Arrays.copyOf(updatedAtDays, capacity);
+        departmentCodes = departmentCodes == null ? new int[capacity] : Arrays.copyOf(departmentCodes, capacity);
+        firstNames = firstNames == null ? new String[capacity] : Arrays.copyOf(firstNames, capacity);
+        lastNames = lastNames == null ? new String[capacity] : Arrays.copyOf(lastNames, capacity);
+        emails = emails == null ? new String[capacity] : Arrays.copyOf(emails, capacity);
+        phoneNumbers = phoneNumbers == null ? new String[capacity] : Arrays.copyOf(phoneNumbers, capacity);
+        addresses = addresses == null ? new String[capacity] : Arrays.copyOf(addresses, capacity);
+    }
+
+    private static int toDays(LocalDate date) {
+        return date == null ? NULL_INT : (int) date.toEpochDay();
+    }
+
+    private static LocalDate toDate(int days) {
+        return days == NULL_INT ? null : LocalDate.ofEpochDay(days);
+    }
+
+    private static long stringBytes(String value) {
+        // String object + byte[] header, Latin-1 compact strings use one byte per char
+        return value == null ? 0 : 40 + value.length();
+    }
+}
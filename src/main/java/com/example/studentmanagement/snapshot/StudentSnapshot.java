@@ -0,0 +1,254 @@
+package com.example.studentmanagement.snapshot;
+
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.invalidation.StudentChangeListener;
+import com.example.studentmanagement.sharding.ShardContext;
+import com.example.studentmanagement.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Read-mostly snapshot of the students table used to answer list/filter/count queries in memory.
+ *
+ * Loaded once at startup and then kept current by StudentServiceImpl and the archiver, which
+ * refresh every student they write once the write has committed, and by the invalidation bus,
+ * which reports writes made by other instances. A refresh re-reads the rows from the database
+ * and applies them while holding the rows' locks, so when two writes to a student commit close
+ * together the refresh that runs last has read the later state, whatever order the callbacks run
+ * in, and a deleted student cannot reappear. Writes that arrive while a (re)load is running are
+ * replayed on the new store before it is published. Enable with app.snapshot.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.snapshot.enabled", havingValue = "true")
+public class StudentSnapshot implements StudentChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSnapshot.class);
+
+    private static final String SELECT_COLUMNS = "SELECT id, first_name, last_name, email, phone_number, "
+            + "date_of_birth, address, department, enrollment_year, is_active, created_at, updated_at FROM students";
+
+    // Refreshes of the same student are serialized by one of these locks, chosen by id
+    private static final int REFRESH_LOCK_STRIPES = 64;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${app.snapshot.fetch-size:1000}")
+    private int fetchSize;
+
+    private final ReentrantLock[] refreshLocks = new ReentrantLock[REFRESH_LOCK_STRIPES];
+    private final Object writeLock = new Object();
+    private List<Consumer<StudentColumnStore>> writesDuringLoad;
+    private volatile StudentColumnStore store;
+    // Set while the invalidation bus cannot vouch for freshness; reads go to the database meanwhile
+    private volatile boolean invalidated;
+
+    public StudentSnapshot() {
+        for (int i = 0; i < refreshLocks.length; i++) {
+            refreshLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // The warm-up loads the snapshot before the application is ready so it can exercise it; otherwise it is loaded now
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (store == null) {
+            load();
+        }
+    }
+
+    public void load() {
+        synchronized (writeLock) {
+            writesDuringLoad = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        StudentColumnStore fresh = new StudentColumnStore();
+        try {
+            if (shardRouter == null) {
+                loadInto(fresh);
+            } else {
+                for (int shard : shardRouter.shardIndexes()) {
+                    ShardContext.runOn(shard, () -> loadInto(fresh));
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                writesDuringLoad = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            writesDuringLoad.forEach(write -> write.accept(fresh));
+            writesDuringLoad = null;
+            store = fresh;
+            invalidated = false;
+        }
+
+        int rows = fresh.liveRows();
+        long bytes = fresh.estimatedBytes();
+        log.info("Student snapshot loaded {} rows in {} ms, ~{} KB (~{} bytes/student)", rows,
+                (System.nanoTime() - started) / 1_000_000, bytes / 1024, rows == 0 ? 0 : bytes / rows);
+    }
+
+    // Another instance changed the student: re-read its row
+    @Override
+    public void onStudentChanged(StudentChangeEvent event) {
+        refresh(event.getStudentId());
+    }
+
+    @Override
+    public void onStale() {
+        invalidated = true;
+    }
+
+    @Override
+    public void onResynced() {
+        load();
+    }
+
+    public void refresh(Long id) {
+        refresh(List.of(id));
+    }
+
+    // Re-read the students from the database and apply what is there now; call after the writes have committed
+    public void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<ReentrantLock> locks = locksFor(ids);
+        locks.forEach(ReentrantLock::lock);
+        try {
+            Map<Long, Student> rows = new HashMap<>();
+            if (shardRouter == null) {
+                readInto(ids, rows);
+            } else {
+                Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+                ids.forEach(id -> idsByShard.computeIfAbsent(shardRouter.shardForId(id), key -> new ArrayList<>()).add(id));
+                idsByShard.forEach((shard, shardIds) -> ShardContext.runOn(shard, () -> readInto(shardIds, rows)));
+            }
+            apply(store -> ids.forEach(id -> {
+                Student row = rows.get(id);
+                if (row == null) {
+                    store.remove(id);
+                } else {
+                    store.upsert(row);
+                }
+            }));
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private void readInto(Collection<Long> ids, Map<Long, Student> rows) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query(SELECT_COLUMNS + " WHERE id IN (" + placeholders + ")",
+                (RowCallbackHandler) resultSet -> {
+                    Student student = mapStudent(resultSet);
+                    rows.put(student.getId(), student);
+                }, ids.toArray());
+    }
+
+    // Locks are always taken in stripe order, so refreshes of overlapping id sets cannot deadlock
+    private List<ReentrantLock> locksFor(Collection<Long> ids) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        ids.forEach(id -> stripes.add(Math.floorMod(Long.hashCode(id), REFRESH_LOCK_STRIPES)));
+        List<ReentrantLock> locks = new ArrayList<>(stripes.size());
+        stripes.forEach(stripe -> locks.add(refreshLocks[stripe]));
+        return locks;
+    }
+
+    private void loadInto(StudentColumnStore fresh) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_COLUMNS + " ORDER BY id");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> fresh.upsert(mapStudent(resultSet)));
+    }
+
+    public boolean isReady() {
+        return store != null && !invalidated;
+    }
+
+    public List<StudentResponseDTO> getAllStudents() {
+        return store.list(false);
+    }
+
+    public List<StudentResponseDTO> getActiveStudents() {
+        return store.list(true);
+    }
+
+    public List<StudentResponseDTO> getStudentsByDepartment(String department) {
+        return store.listByDepartment(department);
+    }
+
+    public long countStudents(Boolean isActive, String department) {
+        return store.count(isActive, department);
+    }
+
+    public long estimatedBytes() {
+        return store.estimatedBytes();
+    }
+
+    private void apply(Consumer<StudentColumnStore> write) {
+        synchronized (writeLock) {
+            if (writesDuringLoad != null) {
+                writesDuringLoad.add(write);
+            }
+            if (store != null) {
+                write.accept(store);
+            }
+        }
+    }
+
+    private Student mapStudent(ResultSet resultSet) throws SQLException {
+        Student student = new Student();
+        student.setId(resultSet.getLong("id"));
+        student.setFirstName(resultSet.getString("first_name"));
+        student.setLastName(resultSet.getString("last_name"));
+        student.setEmail(resultSet.getString("email"));
+        student.setPhoneNumber(resultSet.getString("phone_number"));
+        student.setDateOfBirth(toLocalDate(resultSet.getDate("date_of_birth")));
+        student.setAddress(resultSet.getString("address"));
+        student.setDepartment(resultSet.getString("department"));
+        int enrollmentYear = resultSet.getInt("enrollment_year");
+        student.setEnrollmentYear(resultSet.wasNull() ? null : enrollmentYear);
+        boolean isActive = resultSet.getBoolean("is_active");
+        student.setIsActive(resultSet.wasNull() ? null : isActive);
+        student.setCreatedAt(toLocalDate(resultSet.getDate("created_at")));
+        student.setUpdatedAt(toLocalDate(resultSet.getDate("updated_at")));
+        return student;
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
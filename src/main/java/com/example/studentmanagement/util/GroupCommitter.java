@@ -0,0 +1,177 @@
+package com.example.studentmanagement.util;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent writes into group commits.
+ *
+ * Callers hand in one item each and block until it is written. A single writer thread collects
+ * items until maxBatchSize are waiting or maxWaitMillis have passed since the first one arrived,
+ * then writes them with batchWriter (one transaction, one commit). If the batch fails, every item
+ * is retried on its own with singleWriter, so each caller gets its own result or its own error
+ * exactly as if it had written alone. A caller that times out before its item joins a batch
+ * withdraws the item, so it is never written; once the item is part of a batch the write goes
+ * ahead and may still commit after the caller has given up. A full queue and a timeout fail with
+ * ServiceOverloadedException.
+ */
+public class GroupCommitter<T, R> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long timeoutMillis;
+    private final Function<List<T>, List<R>> batchWriter;
+    private final Function<T, R> singleWriter;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public GroupCommitter(String name, int maxBatchSize, long maxWaitMillis, int queueCapacity, long timeoutMillis,
+                          Function<List<T>, List<R>> batchWriter, Function<T, R> singleWriter) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.timeoutMillis = timeoutMillis;
+        this.batchWriter = batchWriter;
+        this.singleWriter = singleWriter;
+        this.writer = new Thread(this::writeLoop, name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Write the item as part of the next group commit and return its result
+    public R submit(T item) {
+        if (closed) {
+            throw new IllegalStateException("Group committer is closed");
+        }
+        Pending<T, R> pending = new Pending<>(item);
+        if (!queue.offer(pending)) {
+            throw new ServiceOverloadedException("Too many pending writes, try again later");
+        }
+        try {
+            return pending.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (TimeoutException e) {
+            if (pending.claim()) {
+                queue.remove(pending);
+                pending.result.cancel(false);
+                throw new ServiceOverloadedException("Timed out after " + timeoutMillis + " ms waiting for the write to start; "
+                        + "it was not written");
+            }
+            // Already part of a batch: the write may still commit after this caller has given up
+            throw new ServiceOverloadedException("Timed out after " + timeoutMillis + " ms waiting for the write to commit");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the write to commit");
+        }
+    }
+
+    // Number of items waiting for the next batch
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    // Stop accepting items, write what is already queued and stop the writer thread
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !first.claim()) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    // Skip items whose caller timed out while they were queued
+                    if (next.claim()) {
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                batch.forEach(pending -> pending.result.completeExceptionally(
+                        new RuntimeException("Write was interrupted before it committed")));
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending<T, R>> batch) {
+        if (batch.size() > 1) {
+            List<T> items = new ArrayList<>(batch.size());
+            batch.forEach(pending -> items.add(pending.item));
+            try {
+                List<R> results = batchWriter.apply(items);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result.complete(results.get(i));
+                }
+                return;
+            } catch (RuntimeException | Error e) {
+                log.debug("Group commit of {} items failed, writing them one by one: {}", batch.size(), e.getMessage());
+            }
+        }
+        for (Pending<T, R> pending : batch) {
+            try {
+                pending.result.complete(singleWriter.apply(pending.item));
+            } catch (RuntimeException | Error e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class Pending<T, R> {
+        private final T item;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        // Taken by the writer when the item joins a batch, or by the caller when it gives up first
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Pending(T item) {
+            this.item = item;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.studentmanagement.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ *
+ * The first caller for a key (the leader) runs the loader on its own thread; callers that
+ * arrive while that load is in flight wait for the leader's result instead of starting their
+ * own. Once the load completes, successfully or not, the key is released so the next caller
+ * triggers a fresh load. Nothing is cached beyond the lifetime of a single load.
+ *
+ * Every waiting caller receives its own copy of the leader's value (made with copyForWaiter), so
+ * a caller that modifies its result cannot change what the other callers see.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final long timeoutMillis;
+    private final UnaryOperator<V> copyForWaiter;
+
+    public SingleFlight(long timeoutMillis, UnaryOperator<V> copyForWaiter) {
+        this.timeoutMillis = timeoutMillis;
+        this.copyForWaiter = copyForWaiter;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> ownFuture = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, ownFuture);
+        if (existing != null) {
+            waiting.incrementAndGet();
+            try {
+                return copyForWaiter.apply(await(key, existing));
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        // Leader - run the load and publish the outcome to every waiting caller
+        try {
+            V value = loader.get();
+            ownFuture.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            ownFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownFuture);
+        }
+    }
+
+    // Number of keys currently being loaded
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Number of callers currently waiting on another caller's load
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out after " + timeoutMillis + " ms waiting for load of key: " + key);
+        } catch (CancellationException e) {
+            throw new RuntimeException("Load was cancelled for key: " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for load of key: " + key);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS students (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    date_of_birth DATE NOT NULL,
+    address VARCHAR(200),
+    department VARCHAR(100),
+    enrollment_year INT NOT NULL,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at DATE,
+    updated_at DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS student_change_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    email VARCHAR(255),
+    previous_email VARCHAR(255),
+    change_type VARCHAR(20) NOT NULL,
+    origin_id VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_student_change_events_created_at (created_at)
+);
@@ -0,0 +1,21 @@
+-- Cold tier for students that have been inactive for a long time (see StudentArchiver)
+CREATE TABLE IF NOT EXISTS archived_students (
+    id BIGINT NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    date_of_birth DATE NOT NULL,
+    address VARCHAR(200),
+    department VARCHAR(100),
+    enrollment_year INT NOT NULL,
+    is_active BOOLEAN DEFAULT FALSE,
+    created_at DATE,
+    updated_at DATE,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_archived_students_email (email)
+);
+
+-- Lets the archiver find archival candidates without scanning the whole hot table
+CREATE INDEX idx_students_active_updated_at ON students (is_active, updated_at);
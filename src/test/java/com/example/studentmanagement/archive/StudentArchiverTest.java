@@ -0,0 +1,147 @@
+package com.example.studentmanagement.archive;
+
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.repository.ArchivedStudentRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Archiving long-inactive students, reading them through the archive and restoring or deleting them on writes
+@SpringBootTest(properties = {
+        "app.archive.enabled=true",
+        "app.archive.inactive-days=30",
+        "app.archive.batch-size=2",
+        "app.archive.pause-ms=0",
+        "app.archive.initial-delay-ms=3600000"
+})
+class StudentArchiverTest {
+
+    @Autowired
+    private StudentArchiver studentArchiver;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+
+    @Test
+    void archivesOnlyLongInactiveStudentsAndReadsThemThroughTheArchive() {
+        Student longInactive1 = save("archive.old1@example.com", false, LocalDate.now().minusDays(400));
+        Student longInactive2 = save("archive.old2@example.com", false, LocalDate.now().minusDays(100));
+        Student longInactive3 = save("archive.old3@example.com", false, LocalDate.now().minusDays(31));
+        Student recentlyInactive = save("archive.recent@example.com", false, LocalDate.now().minusDays(5));
+        Student active = save("archive.active@example.com", true, LocalDate.now().minusDays(400));
+
+        assertEquals(3, studentArchiver.archiveInactiveStudents());
+
+        for (Student student : new Student[]{longInactive1, longInactive2, longInactive3}) {
+            assertFalse(studentRepository.existsById(student.getId()));
+            assertTrue(archivedStudentRepository.existsById(student.getId()));
+        }
+        assertTrue(studentRepository.existsById(recentlyInactive.getId()));
+        assertTrue(studentRepository.existsById(active.getId()));
+
+        assertEquals("archive.old1@example.com", studentService.getStudentById(longInactive1.getId()).getEmail());
+        assertEquals(longInactive2.getId(), studentService.getStudentByEmail("archive.old2@example.com").getId());
+        assertEquals(0, studentArchiver.archiveInactiveStudents());
+    }
+
+    @Test
+    void activatingAnArchivedStudentRestoresIt() {
+        Student archived = save("archive.restore@example.com", false, LocalDate.now().minusDays(400));
+        studentArchiver.archiveInactiveStudents();
+        assertFalse(studentRepository.existsById(archived.getId()));
+
+        assertTrue(studentService.activateStudent(archived.getId()).getIsActive());
+
+        assertFalse(archivedStudentRepository.existsById(archived.getId()));
+        Student restored = studentRepository.findById(archived.getId()).orElseThrow();
+        assertTrue(restored.getIsActive());
+        assertEquals("archive.restore@example.com", restored.getEmail());
+        assertThrows(RuntimeException.class, () -> studentService.activateStudent(-1L));
+    }
+
+    @Test
+    void writesAndBatchLookupsSeeArchivedStudents() {
+        Student updated = save("archive.update@example.com", false, LocalDate.now().minusDays(400));
+        Student deactivated = save("archive.deactivate@example.com", false, LocalDate.now().minusDays(400));
+        Student deleted = save("archive.delete@example.com", false, LocalDate.now().minusDays(400));
+        studentArchiver.archiveInactiveStudents();
+
+        StudentBatchResponseDTO batch = studentService.getStudentsByIds(List.of(updated.getId(), -1L, deleted.getId()));
+        assertEquals(List.of(updated.getId(), deleted.getId()),
+                batch.getStudents().stream().map(StudentResponseDTO::getId).toList());
+        assertEquals(List.of(-1L), batch.getMissingIds());
+
+        // Updates restore the student before writing it
+        StudentRequestDTO request = new StudentRequestDTO("Archive", "Updated", "archive.update@example.com",
+                "1234567890", LocalDate.of(1990, 1, 1), "1 Archive St", "History", 2010);
+        assertEquals("Updated", studentService.updateStudent(updated.getId(), request).getLastName());
+        assertEquals("Updated", studentRepository.findById(updated.getId()).orElseThrow().getLastName());
+        assertFalse(archivedStudentRepository.existsById(updated.getId()));
+
+        // Deactivating an archived student changes nothing, so it stays in the archive
+        assertFalse(studentService.deactivateStudent(deactivated.getId()).getIsActive());
+        assertFalse(studentService.deactivateStudent(deactivated.getId()).getIsActive());
+        assertFalse(studentRepository.existsById(deactivated.getId()));
+        assertTrue(archivedStudentRepository.existsById(deactivated.getId()));
+
+        // Deleting removes the student from the archive
+        studentService.deleteStudent(deleted.getId());
+        assertFalse(archivedStudentRepository.existsById(deleted.getId()));
+        assertFalse(studentRepository.existsById(deleted.getId()));
+        assertThrows(RuntimeException.class, () -> studentService.deleteStudent(deleted.getId()));
+    }
+
+    @Test
+    void archivedEmailsStayTakenUntilTheStudentIsDeleted() {
+        Student archived = save("archive.reserved@example.com", false, LocalDate.now().minusDays(400));
+        Student other = save("archive.other@example.com", true, LocalDate.now());
+        studentArchiver.archiveInactiveStudents();
+        assertFalse(studentRepository.existsById(archived.getId()));
+
+        assertThrows(DuplicateEmailException.class,
+                () -> studentService.createStudent(request("archive.reserved@example.com")));
+        assertThrows(DuplicateEmailException.class,
+                () -> studentService.updateStudent(other.getId(), request("archive.reserved@example.com")));
+        assertEquals("archive.other@example.com", studentRepository.findById(other.getId()).orElseThrow().getEmail());
+        assertEquals(archived.getId(), studentService.getStudentByEmail("archive.reserved@example.com").getId());
+        assertTrue(studentService.activateStudent(archived.getId()).getIsActive());
+
+        // Once the student is deleted the email is free again
+        studentService.deleteStudent(archived.getId());
+        assertEquals("archive.reserved@example.com",
+                studentService.createStudent(request("archive.reserved@example.com")).getEmail());
+    }
+
+    private StudentRequestDTO request(String email) {
+        return new StudentRequestDTO("Archive", "Student", email, "1234567890", LocalDate.of(1990, 1, 1),
+                "1 Archive St", "History", 2010);
+    }
+
+    private Student save(String email, boolean active, LocalDate updatedAt) {
+        Student student = new Student("Archive", "Student", email, "1234567890", LocalDate.of(1990, 1, 1),
+                "1 Archive St", "History", 2010);
+        student.setIsActive(active);
+        student.setUpdatedAt(updatedAt);
+        return studentRepository.save(student);
+    }
+}
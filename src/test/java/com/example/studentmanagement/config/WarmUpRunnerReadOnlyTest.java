@@ -0,0 +1,43 @@
+package com.example.studentmanagement.config;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// With writes disabled (the prod profile) warm-up reads the sample students and allocates no ids
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warm_up_read_only_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.warm-up.enabled=true",
+        "app.warm-up.iterations=5",
+        "app.warm-up.writes-enabled=false"
+})
+class WarmUpRunnerReadOnlyTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void readsWithoutUsingUpIds() {
+        assertThat(warmUpRunner.getCompletedIterations()).isEqualTo(5);
+        long maxId = studentRepository.findAll().stream().mapToLong(Student::getId).max().orElseThrow();
+
+        long createdId = studentService.createStudent(new StudentRequestDTO("Real", "Student", "warm-up.read-only@example.com",
+                "1234567890", LocalDate.of(2000, 1, 1), "1 Real St", "Physics", 2024)).getId();
+
+        assertThat(createdId).isEqualTo(maxId + 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.studentmanagement.config;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.entity.StudentChangeEvent;
+import com.example.studentmanagement.membership.EmailMembershipFilter;
+import com.example.studentmanagement.repository.StudentChangeEventRepository;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import com.example.studentmanagement.snapshot.StudentSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warm_up_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sample-data.enabled=false",
+        "app.invalidation.enabled=true",
+        "app.snapshot.enabled=true",
+        "app.email-filter.enabled=true",
+        "app.warm-up.enabled=true",
+        "app.warm-up.iterations=5",
+        "app.warm-up.http-iterations=3"
+})
+class WarmUpRunnerTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private StudentSnapshot studentSnapshot;
+
+    @Autowired
+    private EmailMembershipFilter emailFilter;
+
+    @Test
+    void completesEveryIterationBeforeReadinessAndLeavesNothingBehind(CapturedOutput output) {
+        assertThat(warmUpRunner.getCompletedIterations()).isEqualTo(5);
+        assertThat(warmUpRunner.getCompletedHttpIterations()).isEqualTo(3);
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(studentRepository.findAll()).isEmpty();
+
+        // The warm-up built the snapshot and the filter, and none of its requests counted as the first request
+        assertThat(studentSnapshot.isReady()).isTrue();
+        assertThat(emailFilter.isReady()).isTrue();
+        assertThat(studentService.countStudents(null, null)).isZero();
+        assertThat(emailFilter.size()).isZero();
+        assertThat(output).contains("Warm-up: 5 service and 3 HTTP iterations").doesNotContain("Startup: first request");
+
+        // The scratch transactions wrote no outbox records, so the first real change gets the first outbox id
+        assertThat(changeEventRepository.count()).isZero();
+        studentService.createStudent(new StudentRequestDTO("Real", "Student", "warm-up.real@example.com", "1234567890",
+                LocalDate.of(2000, 1, 1), "1 Real St", "Physics", 2024));
+        assertThat(changeEventRepository.findAll().stream().max(Comparator.comparing(StudentChangeEvent::getId))
+                .orElseThrow().getId()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.StudentManagementApplication;
+import com.example.studentmanagement.seed.SyntheticDataSeeder;
+import com.example.studentmanagement.seed.SyntheticStudentGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Request threads versus the database executor under slow SQL; run with mvn test -Pbenchmark [-Dbenchmark.clients=...]
+@Tag("benchmark")
+class StudentControllerAsyncBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 100);
+    private static final long LATENCY_MS = Long.getLong("benchmark.sql-latency-ms", 20);
+    private static final long DURATION_MS = 5000;
+
+    @Test
+    void blockingVersusDatabaseExecutor() throws Exception {
+        System.out.printf("%nAsync controller benchmark: %d clients, %d ms per statement, 20 servlet threads, 10 connections%n",
+                CLIENTS, LATENCY_MS);
+        System.out.printf("%-18s %10s %8s %8s %10s %10s %14s %14s%n", "mode", "ok/s", "503", "errors",
+                "p50 ms", "p99 ms", "no-db p50 ms", "no-db p99 ms");
+        run("request threads", false);
+        run("db executor", true);
+    }
+
+    private void run(String mode, boolean executorEnabled) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=20",
+                        "--spring.datasource.url=jdbc:h2:mem:async_benchmark_" + executorEnabled + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--logging.level.org.springframework.web=INFO",
+                        "--app.sample-data.enabled=false",
+                        "--app.sql.simulated-latency-ms=" + LATENCY_MS,
+                        "--app.db-executor.enabled=" + executorEnabled,
+                        "--app.db-executor.queue-capacity=50",
+                        "--app.db-executor.timeout-ms=2000")) {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5)).executor(clientExecutor).build();
+
+            List<Long> dbLatencies = Collections.synchronizedList(new ArrayList<>());
+            List<Long> probeLatencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger ok = new AtomicInteger();
+            AtomicInteger unavailable = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS + 1);
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long id = 1 + ThreadLocalRandom.current().nextLong(ROWS);
+                        long started = System.nanoTime();
+                        int status = get(client, baseUrl + "/api/students/" + id);
+                        dbLatencies.add(System.nanoTime() - started);
+                        if (status == 200) {
+                            ok.incrementAndGet();
+                        } else if (status == 503) {
+                            unavailable.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            // A request that needs no database, standing in for health checks and other cheap endpoints
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+                    get(client, baseUrl + "/api/exports");
+                    probeLatencies.add(System.nanoTime() - started);
+                    sleep(50);
+                }
+            });
+            clients.shutdown();
+            clients.awaitTermination(DURATION_MS + 60_000, TimeUnit.MILLISECONDS);
+            clientExecutor.shutdownNow();
+
+            System.out.printf("%-18s %10.0f %8d %8d %10.1f %10.1f %14.1f %14.1f%n", mode,
+                    ok.get() * 1000.0 / DURATION_MS, unavailable.get(), errors.get(),
+                    percentileMillis(dbLatencies, 0.50), percentileMillis(dbLatencies, 0.99),
+                    percentileMillis(probeLatencies, 0.50), percentileMillis(probeLatencies, 0.99));
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42,
+                SyntheticStudentGenerator.parseDepartmentWeights("Computer Science:50,Physics:50"),
+                0.8, 2015, 2026, LocalDate.now());
+        SyntheticDataSeeder.seed(jdbcTemplate, generator, 1, ROWS, 1, 1000, ROWS);
+    }
+
+    private static int get(HttpClient client, String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static double percentileMillis(List<Long> nanos, double percentile) {
+        List<Long> sorted;
+        synchronized (nanos) {
+            sorted = new ArrayList<>(nanos);
+        }
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(percentile * sorted.size()))) / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.studentmanagement.monitoring.SqlStatementAssertions.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets per StudentController endpoint; a new query on any of these paths fails the build.
+// Statements run on the database executor count towards the window opened on the test thread.
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentControllerSqlBudgetTest {
+
+    private static final String STUDENT_JSON = """
+            {
+              "firstName": "Budget",
+              "lastName": "Student",
+              "email": "%s",
+              "phoneNumber": "1234567890",
+              "dateOfBirth": "2001-06-20",
+              "address": "1 Budget St",
+              "department": "Physics",
+              "enrollmentYear": 2023
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            students.add(new Student("Budget", "Student", "budget" + System.nanoTime() + "." + i + "@example.com",
+                    "1234567890", LocalDate.of(2001, 6, 20), "1 Budget St", "Physics", 2023));
+        }
+        student = studentRepository.saveAll(students).get(0);
+    }
+
+    @Test
+    void readEndpointsRunOneStatement() throws Exception {
+        assertMaxStatements(1, () -> perform(get("/api/students")).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> perform(get("/api/students/active")).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> perform(get("/api/students/{id}", student.getId())).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> perform(get("/api/students/email/{email}", student.getEmail())).andExpect(status().isOk()));
+        assertMaxStatements(1, () -> perform(get("/api/students").param("ids", student.getId() + ",999999"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void writeEndpointsStayWithinBudget() throws Exception {
+        assertMaxStatements(1, () -> perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON.formatted("created" + System.nanoTime() + "@example.com")))
+                .andExpect(status().isCreated()));
+        assertMaxStatements(2, () -> perform(put("/api/students/{id}", student.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON.formatted("updated" + System.nanoTime() + "@example.com")))
+                .andExpect(status().isOk()));
+        assertMaxStatements(2, () -> perform(patch("/api/students/{id}/deactivate", student.getId()))
+                .andExpect(status().isOk()));
+        assertMaxStatements(2, () -> perform(patch("/api/students/{id}/activate", student.getId()))
+                .andExpect(status().isOk()));
+        assertMaxStatements(3, () -> perform(delete("/api/students/{id}", student.getId()))
+                .andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void duplicateEmailIsAConflictWithoutALookupQuery() throws Exception {
+        // Only the failing INSERT runs; the constraint violation itself identifies the duplicate
+        assertMaxStatements(1, () -> perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON.formatted(student.getEmail())))
+                .andExpect(status().isConflict()));
+    }
+
+    // Performs the request and waits for the database executor to finish it
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.studentmanagement.executor;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DatabaseExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DatabaseExecutor();
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "configuredThreads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "timeoutMillis", 200L);
+        executor.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownExecutor();
+    }
+
+    @Test
+    void rejectsAtOnceWhenThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        executor.supply(() -> {
+            running.countDown();
+            return await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.supply(() -> "queued");
+
+        assertThatThrownBy(() -> executor.supply(() -> "rejected"))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void timesOutAndSkipsWorkThatIsStillQueued() throws Exception {
+        AtomicBoolean queuedWorkRan = new AtomicBoolean();
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> blocking = executor.supply(() -> {
+            running.countDown();
+            return await(release);
+        });
+        // The only queue slot is free once the blocking work has been taken off the queue
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = executor.supply(() -> {
+            queuedWorkRan.set(true);
+            return "queued";
+        });
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> blocking.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        assertThat(executor.supply(() -> "next").get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(queuedWorkRan).isFalse();
+    }
+
+    @Test
+    void addsAThreadPerGroupCommitSlotWithWriteCoalescing() {
+        DatabaseExecutor sized = new DatabaseExecutor();
+        ReflectionTestUtils.setField(sized, "connectionPoolSize", 10);
+        ReflectionTestUtils.setField(sized, "writeCoalescingMaxBatchSize", 100);
+        assertThat(sized.threadCount()).isEqualTo(10);
+
+        ReflectionTestUtils.setField(sized, "writeCoalescingEnabled", true);
+        assertThat(sized.threadCount()).isEqualTo(110);
+
+        ReflectionTestUtils.setField(sized, "configuredThreads", 4);
+        assertThat(sized.threadCount()).isEqualTo(4);
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.studentmanagement.export;
+
+import com.example.studentmanagement.dto.ExportJobStatusDTO;
+import com.example.studentmanagement.monitoring.InstrumentedDataSource;
+import com.example.studentmanagement.seed.SyntheticDataSeeder;
+import com.example.studentmanagement.seed.SyntheticStudentGenerator;
+import com.jayway.jsonpath.JsonPath;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sample-data.enabled=false",
+        "app.export.parallelism=2",
+        "app.export.parts-per-worker=2",
+        "app.export.fetch-size=50"
+})
+@AutoConfigureMockMvc
+class StudentExportServiceTest {
+
+    private static final int ROWS = 500;
+    private static final String HEADER = "id,first_name,last_name,email,phone_number,date_of_birth,address,"
+            + "department,enrollment_year,is_active,created_at,updated_at";
+
+    @TempDir
+    static Path exportDirectory;
+
+    @DynamicPropertySource
+    static void exportProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.export.directory", () -> exportDirectory.toString());
+    }
+
+    private final SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42,
+            SyntheticStudentGenerator.parseDepartmentWeights("Computer Science:50,Physics:50"),
+            0.8, 2015, 2026, LocalDate.of(2026, 1, 1));
+
+    @Autowired
+    private StudentExportService studentExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate exportTemplate;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Long.class) == 0) {
+            SyntheticDataSeeder.seed(jdbcTemplate, generator, 1, ROWS, 1, 100, ROWS);
+        }
+        exportTemplate = exportTemplates().get(-1);
+    }
+
+    @AfterEach
+    void restoreExportTemplate() {
+        exportTemplates().put(-1, exportTemplate);
+    }
+
+    @Test
+    void exportsEveryRowOnceAcrossIdRangeParts() throws Exception {
+        ExportJobStatusDTO started = studentExportService.startExport();
+        ExportJobStatusDTO finished = awaitFinished(started.getId());
+
+        assertThat(finished.getState()).isEqualTo("COMPLETED");
+        assertThat(finished.getTotalParts()).isEqualTo(4);
+        assertThat(finished.getCompletedParts()).isEqualTo(4);
+        assertThat(finished.getRowsExported()).isEqualTo(ROWS);
+
+        List<Path> parts = partFiles(finished);
+        assertThat(parts).hasSize(4);
+        Set<Long> ids = new HashSet<>();
+        for (Path part : parts) {
+            List<String> lines = readGzip(part);
+            assertThat(lines.get(0)).isEqualTo(HEADER);
+            long previousId = 0;
+            for (String line : lines.subList(1, lines.size())) {
+                long id = Long.parseLong(line.substring(0, line.indexOf(',')));
+                assertThat(id).isGreaterThan(previousId);
+                assertThat(ids.add(id)).isTrue();
+                previousId = id;
+            }
+        }
+        assertThat(ids).hasSize(ROWS).contains(1L, (long) ROWS);
+
+        // Addresses contain commas and are quoted
+        String firstRow = readGzip(parts.get(0)).get(1);
+        Object[] expected = generator.row(1);
+        assertThat(firstRow).startsWith("1," + expected[1] + "," + expected[2] + "," + expected[3] + ",")
+                .contains(",\"" + expected[6] + "\",");
+    }
+
+    @Test
+    void emptyTableCompletesWithAHeaderOnlyPart() throws Exception {
+        // The next test's setUp seeds the rows again
+        jdbcTemplate.update("DELETE FROM students");
+
+        ExportJobStatusDTO finished = awaitFinished(studentExportService.startExport().getId());
+
+        assertThat(finished.getState()).isEqualTo("COMPLETED");
+        assertThat(finished.getError()).isNull();
+        assertThat(finished.getTotalParts()).isEqualTo(1);
+        assertThat(finished.getCompletedParts()).isEqualTo(1);
+        assertThat(finished.getRowsExported()).isZero();
+        List<Path> parts = partFiles(finished);
+        assertThat(parts).hasSize(1);
+        assertThat(readGzip(parts.get(0))).containsExactly(HEADER);
+    }
+
+    @Test
+    void cancelStopsRunningPartsAndDeletesTheirFiles() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        exportTemplates().put(-1, new GatedJdbcTemplate(exportTemplate, reading, release));
+
+        ExportJobStatusDTO started = studentExportService.startExport();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Files.exists(Paths.get(started.getDirectory()))).isTrue();
+
+        ExportJobStatusDTO cancelled = studentExportService.cancel(started.getId());
+        assertThat(cancelled.getState()).isEqualTo("CANCELLED");
+        release.countDown();
+
+        awaitCondition(() -> !Files.exists(Paths.get(started.getDirectory())));
+        ExportJobStatusDTO status = studentExportService.getStatus(started.getId());
+        assertThat(status.getState()).isEqualTo("CANCELLED");
+        assertThat(status.getCompletedParts()).isLessThan(status.getTotalParts());
+        assertThat(status.getRowsExported()).isLessThan(ROWS);
+    }
+
+    @Test
+    void failingRangeFailsTheJobAndDeletesItsFiles() throws Exception {
+        exportTemplates().put(-1, new JdbcTemplate() {
+            @Override
+            public void query(PreparedStatementCreator psc, RowCallbackHandler rch) throws DataAccessException {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+        });
+
+        ExportJobStatusDTO started = studentExportService.startExport();
+        ExportJobStatusDTO finished = awaitFinished(started.getId());
+
+        assertThat(finished.getState()).isEqualTo("FAILED");
+        assertThat(finished.getError()).contains("failed: connection lost");
+        awaitCondition(() -> !Files.exists(Paths.get(started.getDirectory())));
+    }
+
+    @Test
+    void finishedJobsExpireWithTheirFiles() throws Exception {
+        ExportJobStatusDTO finished = awaitFinished(studentExportService.startExport().getId());
+        assertThat(Files.exists(Paths.get(finished.getDirectory()))).isTrue();
+
+        ReflectionTestUtils.setField(studentExportService, "retentionMinutes", -1L);
+        try {
+            studentExportService.expireFinishedJobs();
+        } finally {
+            ReflectionTestUtils.setField(studentExportService, "retentionMinutes", 1440L);
+        }
+
+        assertThat(Files.exists(Paths.get(finished.getDirectory()))).isFalse();
+        assertThatThrownBy(() -> studentExportService.getStatus(finished.getId()))
+                .hasMessage("Export job not found with id: " + finished.getId());
+    }
+
+    @Test
+    void endpointsReturnAcceptedOkAndNotFound() throws Exception {
+        String response = mockMvc.perform(post("/api/exports")).andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(response, "$.id");
+        mockMvc.perform(get("/api/exports")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/exports/{jobId}", jobId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/exports/{jobId}", "missing")).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/exports/{jobId}", "missing")).andExpect(status().isNotFound());
+        awaitFinished(jobId);
+    }
+
+    @Test
+    void readsThroughItsOwnInstrumentedPool() {
+        assertThat(exportTemplate.getDataSource()).isInstanceOf(InstrumentedDataSource.class);
+        DataSource pool = ((InstrumentedDataSource) exportTemplate.getDataSource()).getTargetDataSource();
+        assertThat(pool).isInstanceOf(HikariDataSource.class).isNotSameAs(jdbcTemplate.getDataSource());
+        assertThat(((HikariDataSource) pool).getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    void cursorFetchIsAddedToMySqlUrlsOnly() {
+        assertThat(StudentExportService.cursorFetchUrl("jdbc:mysql://db:3306/students"))
+                .isEqualTo("jdbc:mysql://db:3306/students?useCursorFetch=true");
+        assertThat(StudentExportService.cursorFetchUrl("jdbc:mysql://db:3306/students?useSSL=false"))
+                .isEqualTo("jdbc:mysql://db:3306/students?useSSL=false&useCursorFetch=true");
+        assertThat(StudentExportService.cursorFetchUrl("jdbc:h2:mem:students")).isEqualTo("jdbc:h2:mem:students");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, JdbcTemplate> exportTemplates() {
+        return (Map<Integer, JdbcTemplate>) ReflectionTestUtils.getField(studentExportService, "exportTemplates");
+    }
+
+    private ExportJobStatusDTO awaitFinished(String jobId) throws InterruptedException {
+        awaitCondition(() -> !studentExportService.getStatus(jobId).getState().equals("RUNNING"));
+        return studentExportService.getStatus(jobId);
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10 s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private List<Path> partFiles(ExportJobStatusDTO job) throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(job.getDirectory()))) {
+            return files.sorted().toList();
+        }
+    }
+
+    private List<String> readGzip(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // Reads through the real export template but holds every part after its first row until released
+    private static class GatedJdbcTemplate extends JdbcTemplate {
+
+        private final JdbcTemplate delegate;
+        private final CountDownLatch reading;
+        private final CountDownLatch release;
+
+        GatedJdbcTemplate(JdbcTemplate delegate, CountDownLatch reading, CountDownLatch release) {
+            this.delegate = delegate;
+            this.reading = reading;
+            this.release = release;
+        }
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) throws DataAccessException {
+            boolean[] first = {true};
+            delegate.query(psc, (RowCallbackHandler) resultSet -> {
+                rch.processRow(resultSet);
+                if (first[0]) {
+                    first[0] = false;
+                    reading.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+    }
+}
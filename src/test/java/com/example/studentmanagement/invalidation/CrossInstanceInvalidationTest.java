@@ -0,0 +1,128 @@
+package com.example.studentmanagement.invalidation;
+
+import com.example.studentmanagement.StudentManagementApplication;
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two application instances on one shared database: changes on one reach the other's snapshot through the outbox
+class CrossInstanceInvalidationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startInstances() {
+        nodeA = startInstance("node-a");
+        nodeB = startInstance("node-b");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void changesOnOneInstanceReachTheOtherInstancesSnapshot() {
+        StudentService serviceA = nodeA.getBean(StudentService.class);
+        StudentService serviceB = nodeB.getBean(StudentService.class);
+
+        StudentResponseDTO created = serviceA.createStudent(request("outbox.created@example.com", "Astronomy"));
+        awaitOn(() -> serviceB.countStudents(null, "Astronomy") == 1);
+
+        serviceA.updateStudent(created.getId(), request("outbox.updated@example.com", "Geology"));
+        awaitOn(() -> serviceB.countStudents(null, "Astronomy") == 0
+                && serviceB.getStudentsByDepartment("Geology").stream()
+                .anyMatch(student -> student.getEmail().equals("outbox.updated@example.com")));
+
+        serviceA.deactivateStudent(created.getId());
+        awaitOn(() -> serviceB.countStudents(true, "Geology") == 0 && serviceB.countStudents(false, "Geology") == 1);
+
+        serviceA.deleteStudent(created.getId());
+        awaitOn(() -> serviceB.countStudents(null, "Geology") == 0);
+    }
+
+    @Test
+    void writesNoEventWhenTheChangeFails() {
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        Long before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_change_events", Long.class);
+
+        assertThrows(RuntimeException.class,
+                () -> nodeA.getBean(StudentService.class).updateStudent(-1L, request("missing@example.com", "Physics")));
+
+        assertEquals(before, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_change_events", Long.class));
+    }
+
+    @Test
+    void picksUpEventsThatCommitOutOfIdOrder() {
+        StudentService serviceA = nodeA.getBean(StudentService.class);
+        StudentService serviceB = nodeB.getBean(StudentService.class);
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        StudentResponseDTO first = serviceA.createStudent(request("outbox.gap1@example.com", "Botany"));
+        StudentResponseDTO second = serviceA.createStudent(request("outbox.gap2@example.com", "Botany"));
+        awaitOn(() -> serviceB.countStudents(null, "Botany") == 2);
+
+        // Event id n + 2 becomes visible before n + 1, as with two concurrent transactions
+        long lastEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM student_change_events", Long.class);
+        changeDepartmentExternally(jdbcTemplate, second.getId(), "Zoology", lastEventId + 2);
+        awaitOn(() -> serviceB.countStudents(null, "Zoology") == 1);
+
+        changeDepartmentExternally(jdbcTemplate, first.getId(), "Zoology", lastEventId + 1);
+        awaitOn(() -> serviceB.countStudents(null, "Zoology") == 2);
+        jdbcTemplate.execute("ALTER TABLE student_change_events AUTO_INCREMENT = " + (lastEventId + 3));
+    }
+
+    private static ConfigurableApplicationContext startInstance(String instanceId) {
+        return new SpringApplicationBuilder(StudentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:invalidation_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.flyway.enabled=true",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "app.sample-data.enabled=false",
+                        "app.snapshot.enabled=true",
+                        "app.invalidation.enabled=true",
+                        "app.invalidation.instance-id=" + instanceId,
+                        "app.invalidation.poll-interval-ms=50")
+                .run();
+    }
+
+    private static void changeDepartmentExternally(JdbcTemplate jdbcTemplate, Long studentId, String department, long eventId) {
+        jdbcTemplate.update("UPDATE students SET department = ? WHERE id = ?", department, studentId);
+        jdbcTemplate.update("INSERT INTO student_change_events (id, student_id, change_type, origin_id, created_at) "
+                + "VALUES (?, ?, 'UPDATED', 'external', CURRENT_TIMESTAMP)", eventId, studentId);
+    }
+
+    private static StudentRequestDTO request(String email, String department) {
+        return new StudentRequestDTO("Outbox", "Student", email, "1234567890", LocalDate.of(2001, 6, 20),
+                "1 Outbox St", department, 2023);
+    }
+
+    private static void awaitOn(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Change did not reach the other instance within 5 s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.studentmanagement.mapper;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentMapperTest {
+
+    private final StudentMapper studentMapper = new StudentMapperImpl();
+
+    private final StudentRequestDTO request = new StudentRequestDTO("Ada", "Lovelace", "ada@example.com", "1234567890",
+            LocalDate.of(2001, 6, 20), "1 Analytical St", "Mathematics", 2023);
+
+    @Test
+    void newStudentIsActiveWithoutId() {
+        Student student = studentMapper.toEntity(request);
+
+        assertThat(student.getId()).isNull();
+        assertThat(student.getIsActive()).isTrue();
+        assertThat(student.getEmail()).isEqualTo("ada@example.com");
+        assertThat(student.getCreatedAt()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void updateKeepsIdentityActiveFlagAndCreationDate() {
+        Student student = new Student("Old", "Name", "old@example.com", "0000000000",
+                LocalDate.of(2000, 1, 1), "Old St", "Physics", 2020);
+        student.setId(7L);
+        student.setIsActive(false);
+        student.setCreatedAt(LocalDate.of(2020, 9, 1));
+        student.setUpdatedAt(LocalDate.of(2020, 9, 1));
+
+        studentMapper.updateEntity(request, student);
+
+        assertThat(student.getId()).isEqualTo(7L);
+        assertThat(student.getIsActive()).isFalse();
+        assertThat(student.getCreatedAt()).isEqualTo(LocalDate.of(2020, 9, 1));
+        assertThat(student.getUpdatedAt()).isEqualTo(LocalDate.now());
+        assertThat(student.getFirstName()).isEqualTo("Ada");
+        assertThat(student.getDepartment()).isEqualTo("Mathematics");
+        assertThat(studentMapper.toResponseDTO(student).getEnrollmentYear()).isEqualTo(2023);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.studentmanagement.membership;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static com.example.studentmanagement.monitoring.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Taken emails are rejected from memory; the filter follows creates, email changes and deletes
+@SpringBootTest(properties = "app.email-filter.enabled=true")
+class EmailMembershipFilterTest {
+
+    @Autowired
+    private EmailMembershipFilter emailFilter;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void rejectsTakenEmailsWithoutTouchingTheDatabase() throws Exception {
+        String email = "filter" + System.nanoTime() + "@example.com";
+        studentService.createStudent(request(email));
+
+        assertMaxStatements(0, () -> assertThatThrownBy(() -> studentService.createStudent(request(email)))
+                .isInstanceOf(DuplicateEmailException.class));
+        assertMaxStatements(0, () -> assertThatThrownBy(() -> studentService.createStudent(request(email.toUpperCase())))
+                .isInstanceOf(DuplicateEmailException.class));
+    }
+
+    @Test
+    void followsEmailChangesAndDeletes() {
+        String original = "filter.original" + System.nanoTime() + "@example.com";
+        String changed = "filter.changed" + System.nanoTime() + "@example.com";
+        StudentResponseDTO created = studentService.createStudent(request(original));
+        assertThat(emailFilter.mightContain(original)).isTrue();
+
+        studentService.updateStudent(created.getId(), request(changed));
+        assertThat(emailFilter.mightContain(original)).isFalse();
+        assertThat(emailFilter.mightContain(changed)).isTrue();
+
+        studentService.deleteStudent(created.getId());
+        assertThat(emailFilter.mightContain(changed)).isFalse();
+        studentService.createStudent(request(changed));
+    }
+
+    @Test
+    void reportsSizeMemoryAndNoFalsePositivesForUnknownEmails() {
+        // Sample data is loaded before the filter is built
+        assertThat(emailFilter.isReady()).isTrue();
+        assertThat(emailFilter.mightContain("john.doe@example.com")).isTrue();
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (emailFilter.mightContain("unknown." + i + "@nowhere.example.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isZero();
+        assertThat(emailFilter.estimatedBytes()).isPositive();
+        assertThat(emailFilter.expectedFalsePositiveRate()).isLessThan(1e-12);
+        assertThat(emailFilter.describe()).contains("emails").contains("false-positive rate");
+    }
+
+    private StudentRequestDTO request(String email) {
+        return new StudentRequestDTO("Filter", "Student", email, "1234567890", LocalDate.of(2001, 6, 20),
+                "1 Filter St", "Physics", 2023);
+    }
+}
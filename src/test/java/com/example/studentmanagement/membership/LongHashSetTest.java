@@ -0,0 +1,44 @@
+package com.example.studentmanagement.membership;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    void matchesAJavaSetUnderRandomAddsAndRemoves() {
+        // Few distinct values in a small table, so probe runs overlap and removals shift entries back
+        SplittableRandom random = new SplittableRandom(7);
+        LongHashSet set = new LongHashSet(16);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(2_000) * 0x10000L - 1_000 * 0x10000L;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value = -1_000 * 0x10000L; value < 1_000 * 0x10000L; value += 0x10000L) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+
+    @Test
+    void storesAMillionHashesInAboutSixteenBytesEach() {
+        SplittableRandom random = new SplittableRandom(42);
+        LongHashSet set = new LongHashSet();
+        for (int i = 0; i < 1_000_000; i++) {
+            set.add(random.nextLong());
+        }
+
+        assertThat(set.size()).isEqualTo(1_000_000);
+        assertThat(set.estimatedBytes() / set.size()).isLessThanOrEqualTo(34);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.studentmanagement.monitoring;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.server-timing.max-buffer-bytes=1024")
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void readResponseReportsDbMappingAndSerialization() throws Exception {
+        StudentResponseDTO student = studentService.createStudent(request("timing.read" + System.nanoTime() + "@example.com"));
+        MvcResult started = mockMvc.perform(get("/api/students/" + student.getId())).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        String header = result.getResponse().getHeader("Server-Timing");
+        assertThat(header).contains("validation;dur=", "db;dur=", "mapping;dur=", "serialization;dur=", "total;dur=");
+        assertThat(header).containsPattern("db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements?\"");
+        assertThat(result.getResponse().getContentAsString()).startsWith("{");
+    }
+
+    @Test
+    void largeResponseIsStreamedWithoutSerializationTiming() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            studentService.createStudent(request("timing.list" + System.nanoTime() + "@example.com"));
+        }
+        MvcResult started = mockMvc.perform(get("/api/students")).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        String header = result.getResponse().getHeader("Server-Timing");
+        assertThat(header).contains("db;dur=", "mapping;dur=", "total;dur=").doesNotContain("serialization");
+        String body = result.getResponse().getContentAsString();
+        assertThat(body.length()).isGreaterThan(1024);
+        assertThat(body).startsWith("[").endsWith("]");
+    }
+
+    @Test
+    void createResponseReportsValidation() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "firstName": "Timing",
+                                  "lastName": "Student",
+                                  "email": "timing%d@example.com",
+                                  "phoneNumber": "1234567890",
+                                  "dateOfBirth": "2001-06-20",
+                                  "address": "1 Timing St",
+                                  "department": "Physics",
+                                  "enrollmentYear": 2023
+                                }
+                                """.formatted(System.nanoTime())))
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isCreated()).andReturn();
+
+        String header = result.getResponse().getHeader("Server-Timing");
+        assertThat(header).containsPattern("validation;dur=[0-9.]+");
+        assertThat(durationOf(header, "validation")).isGreaterThan(0);
+        assertThat(durationOf(header, "total")).isGreaterThanOrEqualTo(durationOf(header, "db"));
+    }
+
+    private StudentRequestDTO request(String email) {
+        return new StudentRequestDTO("Timing", "Student", email, "1234567890", LocalDate.of(2001, 6, 20),
+                "1 Timing St", "Physics", 2023);
+    }
+
+    private static double durationOf(String header, String metric) {
+        for (String entry : header.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (parts[0].equals(metric)) {
+                return Double.parseDouble(parts[1].substring("dur=".length()));
+            }
+        }
+        throw new AssertionError(metric + " missing from " + header);
+    }
+}
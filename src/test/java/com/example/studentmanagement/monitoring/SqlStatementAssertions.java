@@ -0,0 +1,27 @@
+package com.example.studentmanagement.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test helper that fails when an action runs more JDBC statements than its budget
+public final class SqlStatementAssertions {
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    private SqlStatementAssertions() {
+    }
+
+    public static SqlMetrics assertMaxStatements(int maxStatements, SqlAction action) throws Exception {
+        SqlMetrics metrics;
+        try (SqlMetrics window = SqlMetrics.open()) {
+            action.run();
+            metrics = window;
+        }
+        assertThat(metrics.getStatementCount())
+                .as("JDBC statements executed (%s)", metrics)
+                .isLessThanOrEqualTo(maxStatements);
+        return metrics;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.studentmanagement.repository;
+
+import com.example.studentmanagement.StudentManagementApplication;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.seed.SyntheticDataSeeder;
+import com.example.studentmanagement.seed.SyntheticStudentGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * StudentRepository operations against H2 in MySQL mode, per schema/JPA variant.
+ *
+ * Run with mvn test -Pbenchmark -Dtest=StudentRepositoryBenchmark [-Dbenchmark.rows=1000000]
+ * [-Dbenchmark.millis=...]. Each variant starts its own context on a freshly seeded table and
+ * reports throughput and bytes allocated per operation (per-thread allocation counter), so the
+ * effect of index and query changes on the students table can be read off the table.
+ *
+ * Student ids use IDENTITY generation, which keeps Hibernate from batching INSERTs; the JDBC batch
+ * variant therefore mainly shows up in deleteAllById.
+ */
+@Tag("benchmark")
+class StudentRepositoryBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    private static final long MEASURE_MILLIS = Long.getLong("benchmark.millis", 1000);
+    private static final long WARMUP_MILLIS = MEASURE_MILLIS;
+    private static final int BATCH = 100;
+    // Deletes consume rows created by the save operations, so they run a fixed number of calls
+    private static final int DELETE_CALLS = 1000;
+
+    private static final List<Variant> VARIANTS = List.of(
+            new Variant("indexed", true),
+            new Variant("no indexes", false),
+            new Variant("jdbc batch 50", true,
+                    "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                    "--spring.jpa.properties.hibernate.order_inserts=true",
+                    "--spring.jpa.properties.hibernate.order_updates=true"),
+            new Variant("fetch size 1000", true,
+                    "--spring.jpa.properties.hibernate.jdbc.fetch_size=1000"));
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42,
+            SyntheticStudentGenerator.parseDepartmentWeights("Computer Science:30,Mathematics:15,Physics:15,Chemistry:10,Biology:15,Economics:15"),
+            0.8, 2015, 2026, LocalDate.now());
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Test
+    void repositoryOperations() throws Exception {
+        // Unreported pass so the first variant is not measured on a cold JVM
+        run(VARIANTS.get(0), false);
+        System.out.printf("%nStudentRepository benchmark, %d rows, %d ms per operation%n", ROWS, MEASURE_MILLIS);
+        System.out.printf("%-16s %-24s %12s %12s %14s%n", "variant", "operation", "ops/s", "ms/op", "KB alloc/op");
+        for (Variant variant : VARIANTS) {
+            run(variant, true);
+        }
+    }
+
+    private void run(Variant variant, boolean report) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:repository_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--app.sample-data.enabled=false",
+                "--logging.level.org.springframework.web=INFO"));
+        args.addAll(List.of(variant.properties()));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            StudentRepository studentRepository = context.getBean(StudentRepository.class);
+
+            SyntheticDataSeeder.seed(jdbcTemplate, generator, 1, ROWS, Runtime.getRuntime().availableProcessors(), 1000, 10_000);
+            // The seeder writes explicit ids; new rows must be allocated after them
+            jdbcTemplate.execute("ALTER TABLE students AUTO_INCREMENT = " + (ROWS + 1));
+            if (!variant.indexes()) {
+                dropSecondaryIndexes(jdbcTemplate);
+            }
+
+            SplittableRandom random = new SplittableRandom(7);
+            Deque<Long> created = new ArrayDeque<>();
+            measure(variant, report, "findById", Integer.MAX_VALUE, () ->
+                    studentRepository.findById(1 + random.nextLong(ROWS)).isPresent() ? 1 : 0);
+            measure(variant, report, "findByEmail", Integer.MAX_VALUE, () ->
+                    studentRepository.findByEmail(email(1 + random.nextLong(ROWS))).isPresent() ? 1 : 0);
+            measure(variant, report, "findByIsActiveTrue", Integer.MAX_VALUE, () -> studentRepository.findByIsActiveTrue().size());
+            measure(variant, report, "findAll", Integer.MAX_VALUE, () -> studentRepository.findAll().size());
+            measure(variant, report, "save", Integer.MAX_VALUE, () -> {
+                created.add(studentRepository.save(newStudent()).getId());
+                return 1;
+            });
+            measure(variant, report, "saveAll (" + BATCH + ")", Integer.MAX_VALUE, () -> {
+                List<Student> batch = new ArrayList<>(BATCH);
+                for (int i = 0; i < BATCH; i++) {
+                    batch.add(newStudent());
+                }
+                studentRepository.saveAll(batch).forEach(student -> created.add(student.getId()));
+                return BATCH;
+            });
+            measure(variant, report, "deleteById", DELETE_CALLS, () -> {
+                Long id = created.pollFirst();
+                if (id == null) {
+                    return -1;
+                }
+                studentRepository.deleteById(id);
+                return 1;
+            });
+            measure(variant, report, "deleteAllById (" + BATCH + ")", DELETE_CALLS / BATCH, () -> {
+                if (created.size() < BATCH) {
+                    return -1;
+                }
+                List<Long> ids = new ArrayList<>(BATCH);
+                for (int i = 0; i < BATCH; i++) {
+                    ids.add(created.pollFirst());
+                }
+                studentRepository.deleteAllById(ids);
+                return BATCH;
+            });
+        }
+    }
+
+    // Runs the operation for the warm-up and measurement periods (at least 3 calls each, at most maxCalls);
+    // an operation returning a negative value has run out of input and ends the period early
+    private void measure(Variant variant, boolean report, String operation, int maxCalls, IntSupplier action) {
+        runFor(WARMUP_MILLIS, Math.max(3, maxCalls / 10), action);
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        int calls = runFor(MEASURE_MILLIS, maxCalls, action);
+        long elapsedNanos = System.nanoTime() - started;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (!report) {
+            return;
+        }
+        if (calls == 0) {
+            System.out.printf("%-16s %-24s %12s%n", variant.name(), operation, "no input");
+            return;
+        }
+        System.out.printf("%-16s %-24s %12.0f %12.3f %14.1f%n", variant.name(), operation,
+                calls / (elapsedNanos / 1_000_000_000.0), elapsedNanos / 1_000_000.0 / calls, allocated / 1024.0 / calls);
+    }
+
+    private int runFor(long millis, int maxCalls, IntSupplier action) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        int calls = 0;
+        long sink = 0;
+        while (calls < maxCalls && (calls < 3 || System.nanoTime() < deadline)) {
+            int result = action.getAsInt();
+            if (result < 0) {
+                break;
+            }
+            sink += result;
+            calls++;
+        }
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return calls;
+    }
+
+    // Drops the unique email index and the (is_active, updated_at) index; the primary key stays
+    private void dropSecondaryIndexes(JdbcTemplate jdbcTemplate) {
+        List<String> uniqueConstraints = jdbcTemplate.queryForList("SELECT constraint_name FROM information_schema.table_constraints "
+                + "WHERE table_name = 'students' AND constraint_type = 'UNIQUE'", String.class);
+        for (String constraint : uniqueConstraints) {
+            jdbcTemplate.execute("ALTER TABLE students DROP CONSTRAINT \"" + constraint + "\"");
+        }
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_students_active_updated_at");
+    }
+
+    private String email(long id) {
+        return (String) generator.row(id)[3];
+    }
+
+    private Student newStudent() {
+        return new Student("Bench", "Student", "bench" + emailSequence.incrementAndGet() + "@example.com", "1234567890",
+                LocalDate.of(2001, 6, 20), "1 Bench St", "Physics", 2023);
+    }
+
+    private record Variant(String name, boolean indexes, String... properties) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.studentmanagement.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticStudentGeneratorTest {
+
+    private static final String DEPARTMENTS = "Computer Science:30,Mathematics:15,Physics:15";
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void sameSeedAndReferenceDateGiveIdenticalRows() {
+        SyntheticStudentGenerator first = generator(42);
+        SyntheticStudentGenerator second = generator(42);
+
+        // Rows are generated in a different order the second time, as by another thread split
+        for (long id = 1000; id >= 1; id--) {
+            assertThat(second.row(id)).containsExactly(first.row(id));
+        }
+    }
+
+    @Test
+    void otherSeedGivesOtherRows() {
+        assertThat(generator(7).row(1)).isNotEqualTo(generator(42).row(1));
+    }
+
+    @Test
+    void datesNeverLieAfterTheReferenceDate() {
+        SyntheticStudentGenerator generator = generator(42);
+        for (long id = 1; id <= 1000; id++) {
+            Object[] row = generator.row(id);
+            LocalDate createdAt = ((Date) row[10]).toLocalDate();
+            LocalDate updatedAt = ((Date) row[11]).toLocalDate();
+            assertThat(createdAt).isBeforeOrEqualTo(updatedAt);
+            assertThat(updatedAt).isBeforeOrEqualTo(REFERENCE_DATE);
+        }
+    }
+
+    private SyntheticStudentGenerator generator(long seed) {
+        return new SyntheticStudentGenerator(seed, SyntheticStudentGenerator.parseDepartmentWeights(DEPARTMENTS),
+                0.8, 2015, 2026, REFERENCE_DATE);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.studentmanagement.service.impl;
+
+import com.example.studentmanagement.StudentManagementApplication;
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.service.StudentService;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Create throughput of the student write path on embedded H2.
+ *
+ * Run with mvn test -Pbenchmark -Dtest=StudentCreateBenchmark [-Dbenchmark.millis=...]
+ * [-Dbenchmark.clients=...]. "service" calls validation plus StudentService.createStudent on one
+ * thread and reports bytes allocated per create; "http" posts to /api/students from concurrent
+ * clients through the whole stack (JSON, @Valid, executor, mapping, INSERT).
+ */
+@Tag("benchmark")
+class StudentCreateBenchmark {
+
+    private static final long MEASURE_MILLIS = Long.getLong("benchmark.millis", 3000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 8);
+
+    private static final String STUDENT_JSON = """
+            {"firstName":"Bench","lastName":"Student","email":"%s","phoneNumber":"1234567890",\
+            "dateOfBirth":"2001-06-20","address":"1 Bench St","department":"Physics","enrollmentYear":2023}""";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Test
+    void createThroughput() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:create_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--app.sample-data.enabled=false",
+                        "--app.warm-up.enabled=false",
+                        "--logging.level.org.springframework.web=INFO")) {
+            Validator validator = context.getBean(Validator.class);
+            StudentService studentService = context.getBean(StudentService.class);
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            // Unreported passes so both paths are measured JIT-compiled
+            service(validator, studentService, MEASURE_MILLIS, false);
+            http(baseUrl, MEASURE_MILLIS, false);
+
+            System.out.printf("%nStudent create benchmark, %d ms per path, %d HTTP clients%n", MEASURE_MILLIS, CLIENTS);
+            System.out.printf("%-10s %12s %12s %14s %10s %10s%n", "path", "creates/s", "ms/create", "KB alloc/op",
+                    "p50 ms", "p99 ms");
+            service(validator, studentService, MEASURE_MILLIS, true);
+            http(baseUrl, MEASURE_MILLIS, true);
+        }
+    }
+
+    private void service(Validator validator, StudentService studentService, long millis, boolean report) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(millis);
+        int creates = 0;
+        while (System.nanoTime() < deadline) {
+            StudentRequestDTO request = new StudentRequestDTO("Bench", "Student", nextEmail(), "1234567890",
+                    LocalDate.of(2001, 6, 20), "1 Bench St", "Physics", 2023);
+            if (!validator.validate(request).isEmpty()) {
+                throw new IllegalStateException("Benchmark student does not pass validation");
+            }
+            studentService.createStudent(request);
+            creates++;
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (report) {
+            System.out.printf("%-10s %12.0f %12.3f %14.1f %10s %10s%n", "service",
+                    creates / (elapsedNanos / 1_000_000_000.0), elapsedNanos / 1_000_000.0 / creates,
+                    allocated / 1024.0 / creates, "-", "-");
+        }
+    }
+
+    private void http(String baseUrl, long millis, boolean report) throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).executor(clientExecutor).build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long requestStarted = System.nanoTime();
+                    int status = post(client, baseUrl + "/api/students", STUDENT_JSON.formatted(nextEmail()));
+                    latencies.add(System.nanoTime() - requestStarted);
+                    if (status == 201) {
+                        created.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(millis + 60_000, TimeUnit.MILLISECONDS);
+        long elapsedNanos = System.nanoTime() - started;
+        clientExecutor.shutdownNow();
+        if (failed.get() > 0) {
+            throw new IllegalStateException(failed.get() + " creates failed");
+        }
+        if (report) {
+            System.out.printf("%-10s %12.0f %12s %14s %10.2f %10.2f%n", "http",
+                    created.get() / (elapsedNanos / 1_000_000_000.0), "-", "-",
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+        }
+    }
+
+    private String nextEmail() {
+        return "bench" + emailSequence.incrementAndGet() + "@example.com";
+    }
+
+    private static int post(HttpClient client, String url, String json) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static double percentileMillis(List<Long> nanos, double percentile) {
+        List<Long> sorted;
+        synchronized (nanos) {
+            sorted = new ArrayList<>(nanos);
+        }
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(percentile * sorted.size()))) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.studentmanagement.service.impl;
+
+import com.example.studentmanagement.dto.StudentBatchResponseDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.monitoring.SqlMetrics;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.studentmanagement.monitoring.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch_lookup_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.batch-lookup.chunk-size=2",
+        "app.batch-lookup.max-ids=5"
+})
+@AutoConfigureMockMvc
+class StudentServiceBatchLookupTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            students.add(new Student("Batch", "Student", "batch" + System.nanoTime() + "." + i + "@example.com",
+                    "1234567890", LocalDate.of(2001, 6, 20), "1 Batch St", "Physics", 2023));
+        }
+        ids = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @Test
+    void keepsRequestOrderAndReportsMissingIdsOnce() {
+        StudentBatchResponseDTO result = studentService.getStudentsByIds(
+                List.of(ids.get(2), 999_999L, ids.get(0), ids.get(2), 999_998L, 999_999L));
+
+        assertThat(result.getStudents()).extracting(StudentResponseDTO::getId).containsExactly(ids.get(2), ids.get(0));
+        assertThat(result.getMissingIds()).containsExactly(999_999L, 999_998L);
+    }
+
+    @Test
+    void queriesInChunksOfTheConfiguredSize() throws Exception {
+        // The archive is disabled, so the missing ids cost no archive query
+        SqlMetrics metrics = assertMaxStatements(3, () -> studentService.getStudentsByIds(
+                List.of(ids.get(0), ids.get(1), ids.get(2), 999_999L, 999_998L)));
+
+        assertThat(metrics.getStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsMoreDistinctIdsThanTheLimit() {
+        // Duplicates do not count towards the limit
+        StudentBatchResponseDTO atLimit = studentService.getStudentsByIds(List.of(1L, 2L, 3L, 4L, 5L, 5L, 5L));
+        assertThat(atLimit.getStudents().size() + atLimit.getMissingIds().size()).isEqualTo(5);
+        assertThatThrownBy(() -> studentService.getStudentsByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L)))
+                .hasMessage("Cannot look up more than 5 students at once");
+    }
+
+    @Test
+    void endpointsReturnTheBatchOrBadRequest() throws Exception {
+        perform(get("/api/students").param("ids", ids.get(1) + ",999999," + ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id").value(ids.get(1)))
+                .andExpect(jsonPath("$.students[1].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999));
+        perform(post("/api/students/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[" + ids.get(2) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id").value(ids.get(2)));
+        perform(get("/api/students").param("ids", "1,2,3,4,5,6")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/students/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void chunkSizeBelowOneFailsAtStartup() {
+        StudentServiceImpl service = new StudentServiceImpl();
+        ReflectionTestUtils.setField(service, "batchLookupChunkSize", 0);
+        ReflectionTestUtils.setField(service, "batchLookupMaxIds", 5000);
+
+        assertThatThrownBy(service::validateBatchLookup)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.batch-lookup.chunk-size must be at least 1");
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
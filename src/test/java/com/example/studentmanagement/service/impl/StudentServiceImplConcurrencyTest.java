@@ -0,0 +1,208 @@
+package com.example.studentmanagement.service.impl;
+
+import com.example.studentmanagement.archive.StudentArchive;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.mapper.StudentMapper;
+import com.example.studentmanagement.mapper.StudentMapperImpl;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.util.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentServiceImplConcurrencyTest {
+
+    private static final int CALLERS_PER_KEY = 50;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentArchive studentArchive;
+
+    @Spy
+    private StudentMapper studentMapper = new StudentMapperImpl();
+
+    @InjectMocks
+    private StudentServiceImpl studentService;
+
+    private ExecutorService callers;
+    private List<CountDownLatch> arrivals;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentService, "singleFlightTimeoutMs", 5000L);
+        studentService.initLookups();
+        callers = Executors.newFixedThreadPool(CALLERS_PER_KEY * 2);
+        arrivals = new ArrayList<>();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsOfSameIdRunOneQueryPerKey() throws Exception {
+        when(studentRepository.findById(1L)).thenAnswer(invocation -> blockUntilReleased(Optional.of(student(1L, "a@example.com"))));
+        when(studentRepository.findById(2L)).thenAnswer(invocation -> blockUntilReleased(Optional.of(student(2L, "b@example.com"))));
+
+        List<Future<StudentResponseDTO>> first = burst(CALLERS_PER_KEY, () -> studentService.getStudentById(1L));
+        List<Future<StudentResponseDTO>> second = burst(CALLERS_PER_KEY, () -> studentService.getStudentById(2L));
+        releaseAfterAllArrived();
+
+        for (Future<StudentResponseDTO> result : first) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        }
+        for (Future<StudentResponseDTO> result : second) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(2L);
+        }
+        verify(studentRepository, times(1)).findById(1L);
+        verify(studentRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void everyCallerGetsItsOwnResponseInstance() throws Exception {
+        when(studentRepository.findById(5L)).thenAnswer(invocation -> blockUntilReleased(Optional.of(student(5L, "e@example.com"))));
+
+        List<Future<StudentResponseDTO>> results = burst(CALLERS_PER_KEY, () -> studentService.getStudentById(5L));
+        releaseAfterAllArrived();
+
+        Set<StudentResponseDTO> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<StudentResponseDTO> result : results) {
+            StudentResponseDTO response = result.get(5, TimeUnit.SECONDS);
+            assertThat(response.getEmail()).isEqualTo("e@example.com");
+            instances.add(response);
+        }
+        assertThat(instances).hasSize(CALLERS_PER_KEY);
+        verify(studentRepository, times(1)).findById(5L);
+    }
+
+    @Test
+    void concurrentLookupsOfSameEmailRunOneQuery() throws Exception {
+        when(studentRepository.findByEmail("a@example.com"))
+                .thenAnswer(invocation -> blockUntilReleased(Optional.of(student(1L, "a@example.com"))));
+
+        List<Future<StudentResponseDTO>> results = burst(CALLERS_PER_KEY, () -> studentService.getStudentByEmail("a@example.com"));
+        releaseAfterAllArrived();
+
+        for (Future<StudentResponseDTO> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getEmail()).isEqualTo("a@example.com");
+        }
+        verify(studentRepository, times(1)).findByEmail("a@example.com");
+    }
+
+    @Test
+    void failedLoadIsSharedByTheBurstAndNotRemembered() throws Exception {
+        when(studentRepository.findById(3L)).thenAnswer(invocation -> blockUntilReleased(Optional.empty()));
+
+        List<Future<StudentResponseDTO>> results = burst(CALLERS_PER_KEY, () -> studentService.getStudentById(3L));
+        releaseAfterAllArrived();
+
+        for (Future<StudentResponseDTO> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("Student not found with id: 3");
+        }
+        verify(studentRepository, times(1)).findById(3L);
+
+        // The next burst starts a fresh load instead of replaying the failure
+        assertThatThrownBy(() -> studentService.getStudentById(3L)).hasMessage("Student not found with id: 3");
+        verify(studentRepository, times(2)).findById(3L);
+    }
+
+    @Test
+    void waitingCallerTimesOutWhenLeaderIsSlow() throws Exception {
+        ReflectionTestUtils.setField(studentService, "singleFlightTimeoutMs", 50L);
+        studentService.initLookups();
+        when(studentRepository.findById(4L)).thenAnswer(invocation -> blockUntilReleased(Optional.of(student(4L, "d@example.com"))));
+
+        List<Future<StudentResponseDTO>> leader = burst(1, () -> studentService.getStudentById(4L));
+        awaitCondition(() -> lookups("idLookups").inFlightCount() == 1);
+
+        assertThatThrownBy(() -> studentService.getStudentById(4L)).hasMessageContaining("Timed out after 50 ms");
+
+        release.countDown();
+        assertThat(leader.get(0).get(5, TimeUnit.SECONDS).getId()).isEqualTo(4L);
+        verify(studentRepository, times(1)).findById(4L);
+    }
+
+    private <T> List<Future<T>> burst(int size, Callable<T> call) {
+        CountDownLatch burstArrived = new CountDownLatch(size);
+        arrivals.add(burstArrived);
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            results.add(callers.submit(() -> {
+                burstArrived.countDown();
+                return call.call();
+            }));
+        }
+        return results;
+    }
+
+    // Each burst is one key: one leader runs the load and every other caller must be waiting on it
+    private void releaseAfterAllArrived() throws InterruptedException {
+        for (CountDownLatch burstArrived : arrivals) {
+            assertThat(burstArrived.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        int expectedWaiters = arrivals.size() * (CALLERS_PER_KEY - 1);
+        awaitCondition(() -> lookups("idLookups").waitingCount() + lookups("emailLookups").waitingCount() == expectedWaiters);
+        release.countDown();
+    }
+
+    private SingleFlight<?, ?> lookups(String field) {
+        return (SingleFlight<?, ?>) ReflectionTestUtils.getField(studentService, field);
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private <T> T blockUntilReleased(T value) throws InterruptedException {
+        assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+        return value;
+    }
+
+    private Student student(Long id, String email) {
+        Student student = new Student("Test", "Student", email, "1234567890",
+                LocalDate.of(2000, 1, 1), "1 Test St", "Physics", 2022);
+        student.setId(id);
+        return student;
+    }
+}
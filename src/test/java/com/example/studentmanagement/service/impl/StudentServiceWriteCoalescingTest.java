@@ -0,0 +1,86 @@
+package com.example.studentmanagement.service.impl;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.exception.DuplicateEmailException;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent creates through the group-commit path keep per-caller results and errors
+@SpringBootTest(properties = {
+        "app.write-coalescing.enabled=true",
+        "app.write-coalescing.max-wait-ms=20"
+})
+class StudentServiceWriteCoalescingTest {
+
+    private static final int CALLERS = 60;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void concurrentCreatesGetTheirOwnIdsAndDuplicatesTheirOwnErrors() throws Exception {
+        String prefix = "coalesced" + System.nanoTime();
+        studentService.createStudent(request(prefix + ".taken@example.com"));
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                // Every tenth caller reuses the email that is already taken
+                String email = i % 10 == 0 ? prefix + ".taken@example.com" : prefix + "." + i + "@example.com";
+                results.add(callers.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    try {
+                        return studentService.createStudent(request(email));
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < CALLERS; i++) {
+                Object result = results.get(i).get(30, TimeUnit.SECONDS);
+                if (i % 10 == 0) {
+                    assertThat(result).isInstanceOf(DuplicateEmailException.class);
+                } else {
+                    StudentResponseDTO created = (StudentResponseDTO) result;
+                    assertThat(created.getEmail()).isEqualTo(prefix + "." + i + "@example.com");
+                    assertThat(studentRepository.findById(created.getId())).get()
+                            .extracting(student -> student.getEmail()).isEqualTo(created.getEmail());
+                    ids.add(created.getId());
+                }
+            }
+            assertThat(ids).hasSize(CALLERS - CALLERS / 10);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private StudentRequestDTO request(String email) {
+        return new StudentRequestDTO("Coalesced", "Student", email, "1234567890", LocalDate.of(2001, 6, 20),
+                "1 Batch St", "Physics", 2023);
+    }
+}
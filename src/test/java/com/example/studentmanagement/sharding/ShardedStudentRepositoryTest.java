@@ -0,0 +1,267 @@
+package com.example.studentmanagement.sharding;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two H2 databases as shards: placement (including group-committed creates), id ranges, routed lookups, merged queries and range moves
+@SpringBootTest(properties = {
+        "app.sample-data.enabled=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].id-range-start=1",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].id-range-start=1000000",
+        "app.write-coalescing.enabled=true",
+        "app.write-coalescing.max-wait-ms=50"
+})
+@DirtiesContext
+class ShardedStudentRepositoryTest {
+
+    private static final long SHARD_1_START = 1_000_000;
+    private static final String COLUMNS = "id, first_name, last_name, email, phone_number, date_of_birth, address, "
+            + "department, enrollment_year, is_active, created_at, updated_at";
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void placesStudentsOnBothShardsWithinTheirIdRanges() {
+        List<Student> saved = saveStudents(6);
+
+        for (Student student : saved) {
+            int shard = shardRouter.shardForId(student.getId());
+            assertEquals(shard == 0, student.getId() < SHARD_1_START, "id " + student.getId());
+            assertEquals(1, rowsOnShard(shard, student.getId()));
+            assertEquals(0, rowsOnShard(1 - shard, student.getId()));
+        }
+        assertEquals(3, shardRebalancer.shardSizes().get(0));
+        assertEquals(3, shardRebalancer.shardSizes().get(1));
+    }
+
+    @Test
+    void routesLookupsToTheOwningShard() {
+        List<Student> saved = saveStudents(4);
+
+        for (Student student : saved) {
+            assertEquals(student.getEmail(), studentRepository.findById(student.getId()).orElseThrow().getEmail());
+            assertEquals(student.getId(), studentRepository.findByEmail(student.getEmail()).orElseThrow().getId());
+        }
+
+        // Without the in-memory email directory the lookup asks every shard
+        shardRouter.clearEmailDirectory();
+        Student onShard1 = saved.stream().filter(student -> student.getId() >= SHARD_1_START).findFirst().orElseThrow();
+        assertEquals(onShard1.getId(), studentRepository.findByEmail(onShard1.getEmail()).orElseThrow().getId());
+
+        List<Long> ids = saved.stream().map(Student::getId).sorted().toList();
+        assertEquals(ids, studentRepository.findByIdIn(ids).stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void mergesListsAndCountsAcrossShards() {
+        List<Student> saved = saveStudents(5);
+        saved.get(1).setIsActive(false);
+        studentRepository.save(saved.get(1));
+
+        List<Long> allIds = studentRepository.findAll().stream().map(Student::getId).toList();
+        assertEquals(saved.stream().map(Student::getId).sorted().toList(), allIds);
+        assertEquals(5, studentRepository.count());
+        assertEquals(4, studentRepository.findByIsActiveTrue().size());
+        assertEquals(4, studentRepository.countByFilter(true, null));
+        assertEquals(5, studentRepository.findByDepartment("Physics").size());
+    }
+
+    @Test
+    void movesAnAllocatedRangeToAnotherShard() {
+        List<Student> saved = saveStudents(6);
+        List<Long> shard0Ids = saved.stream().map(Student::getId).filter(id -> id < SHARD_1_START).sorted().toList();
+        long fromId = shard0Ids.get(0);
+        long toId = shard0Ids.get(shard0Ids.size() - 1);
+
+        // One student of the range is archived, and a failed earlier move left a copy of another on shard 1
+        JdbcTemplate shard0 = new JdbcTemplate(shardRouter.dataSource(0));
+        JdbcTemplate shard1 = new JdbcTemplate(shardRouter.dataSource(1));
+        shard0.update("INSERT INTO archived_students (" + COLUMNS + ", archived_at) SELECT " + COLUMNS
+                + ", CURRENT_TIMESTAMP FROM students WHERE id = ?", fromId);
+        shard0.update("DELETE FROM students WHERE id = ?", fromId);
+        shard1.update("INSERT INTO students (" + COLUMNS + ") VALUES (?, 'Stale', 'Copy', 'stale.copy@example.com', "
+                + "NULL, DATE '2001-06-20', NULL, NULL, 2023, TRUE, NULL, NULL)", toId);
+
+        assertEquals(shard0Ids.size(), shardRebalancer.moveRange(fromId, toId, 1));
+
+        assertEquals(0, shardRebalancer.shardSizes().get(0));
+        assertEquals(5, shardRebalancer.shardSizes().get(1));
+        assertEquals(0, shard0.queryForObject("SELECT COUNT(*) FROM archived_students", Long.class));
+        assertEquals(1, shard1.queryForObject("SELECT COUNT(*) FROM archived_students WHERE id = ?", Long.class, fromId));
+        assertEquals("Shard", shard1.queryForObject("SELECT first_name FROM students WHERE id = ?", String.class, toId));
+        for (long id : shard0Ids.subList(1, shard0Ids.size())) {
+            assertEquals(1, shardRouter.shardForId(id));
+            assertTrue(studentRepository.findById(id).isPresent());
+        }
+        assertEquals(5, studentRepository.count());
+        shard1.update("DELETE FROM archived_students");
+
+        // Ids shard 1 may still allocate cannot be moved onto shard 0
+        long nextOnShard1 = saved.stream().mapToLong(Student::getId).max().orElseThrow() + 1;
+        assertThrows(IllegalArgumentException.class, () -> shardRebalancer.moveRange(nextOnShard1, nextOnShard1 + 10, 0));
+    }
+
+    @Test
+    void spreadsGroupCommittedCreatesOverTheShards() {
+        // Concurrent creates are written in shared transactions; each batch must stay on its own shard
+        List<CompletableFuture<StudentResponseDTO>> creates = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            StudentRequestDTO request = new StudentRequestDTO("Shard", "Student", "group" + System.nanoTime() + "." + i
+                    + "@example.com", "1234567890", LocalDate.of(2001, 6, 20), "1 Shard St", "Physics", 2023);
+            creates.add(CompletableFuture.supplyAsync(() -> studentService.createStudent(request)));
+        }
+
+        for (CompletableFuture<StudentResponseDTO> create : creates) {
+            long id = create.join().getId();
+            assertEquals(1, rowsOnShard(shardRouter.shardForId(id), id));
+        }
+        assertEquals(4, shardRebalancer.shardSizes().get(0));
+        assertEquals(4, shardRebalancer.shardSizes().get(1));
+    }
+
+    @Test
+    @DirtiesContext
+    void stopsPlacingStudentsOnAShardThatHasUsedUpItsIdRange() {
+        JdbcTemplate shard0 = new JdbcTemplate(shardRouter.dataSource(0));
+        shard0.execute("ALTER TABLE students AUTO_INCREMENT = " + (SHARD_1_START - 1));
+        try {
+            List<Student> saved = saveStudents(4);
+
+            // The last id of shard 0's range is handed out once, then everything goes to shard 1
+            assertEquals(List.of(SHARD_1_START - 1), saved.stream().map(Student::getId)
+                    .filter(id -> id < SHARD_1_START).toList());
+            assertTrue(shardRouter.isFull(0));
+            assertEquals(1, shardRebalancer.shardSizes().get(0));
+            assertEquals(3, shardRebalancer.shardSizes().get(1));
+
+            // An id past the end of the range is refused
+            assertThrows(IllegalStateException.class, () -> shardRouter.checkAllocatedId(0, SHARD_1_START));
+        } finally {
+            studentRepository.deleteAll();
+            shard0.execute("ALTER TABLE students AUTO_INCREMENT = 1");
+        }
+    }
+
+    @Test
+    void rejectsAnEmailThatIsTakenOnAnyShard() {
+        Student original = saveStudents(1).get(0);
+
+        // Round-robin placement puts the two attempts on different shards
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThrows(DataIntegrityViolationException.class, () -> studentRepository.save(new Student("Dup", "Student",
+                    original.getEmail(), "1234567890", LocalDate.of(2001, 6, 20), "1 Shard St", "Physics", 2023)));
+        }
+        assertEquals(1, studentRepository.count());
+
+        // An update may not take another student's email either, and a deleted student's email is free again
+        Student other = saveStudents(1).get(0);
+        other.setEmail(original.getEmail());
+        assertThrows(DataIntegrityViolationException.class, () -> studentRepository.save(other));
+        studentRepository.delete(original);
+        Student renamed = studentRepository.save(other);
+        assertEquals(renamed.getId(), studentRepository.findByEmail(original.getEmail()).orElseThrow().getId());
+    }
+
+    @Test
+    void mergesSortedListsAndPagesAcrossShards() {
+        List<Student> saved = saveStudents(7);
+        List<Long> byEmailDescending = saved.stream().sorted(Comparator.comparing(Student::getEmail).reversed())
+                .map(Student::getId).toList();
+        List<Long> byEmail = saved.stream().sorted(Comparator.comparing(Student::getEmail)).map(Student::getId).toList();
+
+        assertEquals(byEmailDescending, studentRepository.findAll(Sort.by(Sort.Direction.DESC, "email")).stream()
+                .map(Student::getId).toList());
+
+        Page<Student> page = studentRepository.findAll(PageRequest.of(1, 3, Sort.by("email")));
+        assertEquals(byEmail.subList(3, 6), page.getContent().stream().map(Student::getId).toList());
+        assertEquals(7, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+
+        List<Long> byId = saved.stream().map(Student::getId).sorted().toList();
+        assertEquals(byId.subList(6, 7), studentRepository.findAll(PageRequest.of(2, 3)).getContent().stream()
+                .map(Student::getId).toList());
+    }
+
+    @Test
+    void findsOneByExampleAcrossShardsAndRejectsUnmergeableQueries() {
+        List<Student> saved = saveStudents(4);
+        Student onShard1 = saved.stream().filter(student -> student.getId() >= SHARD_1_START).findFirst().orElseThrow();
+
+        assertEquals(onShard1.getId(), studentRepository.findOne(example(onShard1.getEmail(), null)).orElseThrow().getId());
+        assertTrue(studentRepository.findOne(example("nobody@example.com", null)).isEmpty());
+        assertThrows(IncorrectResultSizeDataAccessException.class,
+                () -> studentRepository.findOne(example(null, "Physics")));
+        assertThrows(UnsupportedOperationException.class,
+                () -> studentRepository.findBy(example(null, "Physics"), Function.identity()));
+    }
+
+    private Example<Student> example(String email, String department) {
+        Student probe = new Student();
+        probe.setEmail(email);
+        probe.setDepartment(department);
+        return Example.of(probe, ExampleMatcher.matching().withIgnorePaths("isActive", "createdAt", "updatedAt"));
+    }
+
+    private List<Student> saveStudents(int count) {
+        List<Student> saved = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            saved.add(studentRepository.save(new Student("Shard", "Student", "shard" + System.nanoTime() + "." + i + "@example.com",
+                    "1234567890", LocalDate.of(2001, 6, 20), "1 Shard St", "Physics", 2023)));
+        }
+        return saved;
+    }
+
+    private long rowsOnShard(int shard, long id) {
+        return new JdbcTemplate(shardRouter.dataSource(shard))
+                .queryForObject("SELECT COUNT(*) FROM students WHERE id = ?", Long.class, id);
+    }
+}
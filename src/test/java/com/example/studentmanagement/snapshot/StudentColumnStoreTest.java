@@ -0,0 +1,96 @@
+package com.example.studentmanagement.snapshot;
+
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentColumnStoreTest {
+
+    @Test
+    void listsAndCountsReflectIncrementalWrites() {
+        StudentColumnStore store = new StudentColumnStore(16);
+        for (long id = 1; id <= 40; id++) {
+            store.upsert(student(id, id % 2 == 0 ? "Physics" : "Biology", id % 4 != 0));
+        }
+
+        assertThat(store.list(false)).hasSize(40);
+        assertThat(store.count(true, null)).isEqualTo(30);
+        assertThat(store.count(false, "Physics")).isEqualTo(10);
+        assertThat(store.listByDepartment("Biology")).extracting(StudentResponseDTO::getId)
+                .containsExactly(1L, 3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L, 19L, 21L, 23L, 25L, 27L, 29L, 31L, 33L, 35L, 37L, 39L);
+
+        // Update moves a student between departments and flips its active flag
+        store.upsert(student(1, "Physics", false));
+        assertThat(store.count(null, "Physics")).isEqualTo(21);
+        assertThat(store.count(true, null)).isEqualTo(29);
+
+        for (long id = 2; id <= 20; id++) {
+            store.remove(id);
+        }
+        assertThat(store.liveRows()).isEqualTo(21);
+        assertThat(store.list(false)).extracting(StudentResponseDTO::getId).startsWith(1L, 21L, 22L);
+        assertThat(store.listByDepartment("Unknown")).isEmpty();
+    }
+
+    @Test
+    void keepsIdOrderForOutOfOrderInsertsAndRestores() {
+        StudentColumnStore store = new StudentColumnStore(16);
+        store.upsert(student(10, "Physics", true));
+        store.upsert(student(30, "Physics", true));
+        store.upsert(student(20, "Physics", false));
+        store.remove(30);
+        store.upsert(student(30, "Biology", true));
+
+        List<StudentResponseDTO> students = store.list(false);
+        assertThat(students).extracting(StudentResponseDTO::getId).containsExactly(10L, 20L, 30L);
+        assertThat(students.get(1).getIsActive()).isFalse();
+        assertThat(students.get(2).getDepartment()).isEqualTo("Biology");
+        assertThat(students.get(0).getDateOfBirth()).isEqualTo(LocalDate.of(2001, 6, 20));
+        assertThat(store.count(true, null)).isEqualTo(2);
+    }
+
+    @Test
+    void keepsIdOrderWhenCreatesAlternateBetweenTwoIdRanges() {
+        // Like creates placed round-robin on two shards: every other id is below the highest one
+        StudentColumnStore store = new StudentColumnStore(16);
+        List<Long> expected = new ArrayList<>();
+        for (long i = 1; i <= 3000; i++) {
+            store.upsert(student(i, "Physics", true));
+            store.upsert(student(1_000_000 + i, i % 3 == 0 ? "Biology" : "Physics", i % 2 == 0));
+            expected.add(i);
+            if (i % 100 == 0) {
+                store.remove(i);
+                expected.remove(i);
+            }
+        }
+        for (long i = 1; i <= 3000; i++) {
+            expected.add(1_000_000 + i);
+        }
+
+        assertThat(store.liveRows()).isEqualTo(expected.size());
+        assertThat(store.list(false)).extracting(StudentResponseDTO::getId).containsExactlyElementsOf(expected);
+        assertThat(store.count(null, "Biology")).isEqualTo(1000);
+        assertThat(store.count(true, null)).isEqualTo(2970 + 1500);
+
+        // Updates and restores find rows wherever they are
+        store.upsert(student(100, "Biology", false));
+        store.upsert(student(1_000_001, "Chemistry", true));
+        assertThat(store.listByDepartment("Chemistry")).extracting(StudentResponseDTO::getId).containsExactly(1_000_001L);
+        assertThat(store.list(false).get(99).getId()).isEqualTo(100L);
+        assertThat(store.count(false, "Biology")).isEqualTo(501);
+    }
+
+    private Student student(long id, String department, boolean active) {
+        Student student = new Student("First" + id, "Last" + id, "student" + id + "@example.com", "1234567890",
+                LocalDate.of(2001, 6, 20), id + " Main St", department, 2022);
+        student.setId(id);
+        student.setIsActive(active);
+        return student;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.studentmanagement.snapshot;
+
+import com.example.studentmanagement.repository.StudentRepository;
+import com.example.studentmanagement.seed.SyntheticDataSeeder;
+import com.example.studentmanagement.seed.SyntheticStudentGenerator;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.function.LongSupplier;
+
+// Compares the columnar snapshot with the JPA path; run with mvn test -Pbenchmark [-Dbenchmark.rows=...]
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sample-data.enabled=false",
+        "app.snapshot.enabled=true"
+})
+class StudentSnapshotBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentSnapshot studentSnapshot;
+
+    @Test
+    void snapshotVersusJpa() throws Exception {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42,
+                SyntheticStudentGenerator.parseDepartmentWeights("Computer Science:30,Mathematics:15,Physics:15,Chemistry:10,Biology:15,Economics:15"),
+                0.8, 2015, 2026, LocalDate.now());
+        SyntheticDataSeeder.seed(jdbcTemplate, generator, 1, ROWS, Runtime.getRuntime().availableProcessors(), 1000, 10_000);
+
+        System.gc();
+        long heapBefore = usedHeap();
+        studentSnapshot.load();
+        System.gc();
+        long heapAfter = usedHeap();
+
+        System.out.printf("%nStudent snapshot benchmark, %d rows%n", ROWS);
+        System.out.printf("Memory per student: estimated %d bytes, measured heap delta %d bytes%n",
+                studentSnapshot.estimatedBytes() / ROWS, Math.max(0, heapAfter - heapBefore) / ROWS);
+        System.out.printf("%-34s %12s %12s%n", "operation", "snapshot ms", "jpa ms");
+        report("getActiveStudents", () -> studentService.getActiveStudents().size(),
+                () -> studentRepository.findByIsActiveTrue().size());
+        report("getStudentsByDepartment(Physics)", () -> studentService.getStudentsByDepartment("Physics").size(),
+                () -> studentRepository.findByDepartment("Physics").size());
+        report("countStudents(active, Physics)", () -> studentService.countStudents(true, "Physics"),
+                () -> studentRepository.countByFilter(true, "Physics"));
+    }
+
+    private void report(String operation, LongSupplier snapshot, LongSupplier jpa) {
+        System.out.printf("%-34s %12.2f %12.2f%n", operation, averageMillis(snapshot), averageMillis(jpa));
+    }
+
+    private double averageMillis(LongSupplier operation) {
+        for (int i = 0; i < 3; i++) {
+            operation.getAsLong();
+        }
+        long started = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.getAsLong();
+        }
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
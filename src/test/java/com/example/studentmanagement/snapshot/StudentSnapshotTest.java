@@ -0,0 +1,71 @@
+package com.example.studentmanagement.snapshot;
+
+import com.example.studentmanagement.dto.StudentRequestDTO;
+import com.example.studentmanagement.dto.StudentResponseDTO;
+import com.example.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Snapshot updates applied after commit, in whatever order the commit callbacks of concurrent writes run
+@SpringBootTest(properties = "app.snapshot.enabled=true")
+class StudentSnapshotTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentSnapshot studentSnapshot;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void aLateUpdateCallbackDoesNotBringBackADeletedStudent() {
+        assertTrue(studentSnapshot.isReady());
+        StudentResponseDTO student = studentService.createStudent(request("snapshot.race@example.com", "Oceanography"));
+        assertEquals(1, studentService.countStudents(null, "Oceanography"));
+
+        // The update commits, then a delete commits and updates the snapshot before the update's callback runs
+        transactionTemplate.executeWithoutResult(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    CompletableFuture.runAsync(() -> studentService.deleteStudent(student.getId())).join();
+                }
+            });
+            studentService.updateStudent(student.getId(), request("snapshot.race@example.com", "Limnology"));
+        });
+
+        assertEquals(0, studentService.countStudents(null, "Oceanography"));
+        assertEquals(0, studentService.countStudents(null, "Limnology"));
+        assertTrue(studentService.getAllStudents().stream().noneMatch(dto -> dto.getId().equals(student.getId())));
+    }
+
+    @Test
+    void refreshAppliesWhatIsInTheDatabase() {
+        StudentResponseDTO student = studentService.createStudent(request("snapshot.refresh@example.com", "Seismology"));
+        studentService.deactivateStudent(student.getId());
+        assertEquals(1, studentService.countStudents(false, "Seismology"));
+
+        studentSnapshot.refresh(student.getId());
+        studentSnapshot.refresh(-1L);
+
+        assertEquals(1, studentService.countStudents(false, "Seismology"));
+        assertEquals(0, studentService.countStudents(true, "Seismology"));
+    }
+
+    private StudentRequestDTO request(String email, String department) {
+        return new StudentRequestDTO("Snapshot", "Student", email, "1234567890", LocalDate.of(1990, 1, 1),
+                "1 Snapshot St", department, 2010);
+    }
+}
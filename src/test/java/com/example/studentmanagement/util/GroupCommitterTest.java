@@ -0,0 +1,176 @@
+package com.example.studentmanagement.util;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    private static final int CALLERS = 100;
+
+    @Test
+    void concurrentSubmitsShareBatchesAndEachCallerGetsItsOwnResult() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        try (GroupCommitter<Integer, String> committer = new GroupCommitter<>("test-committer", 20, 50, 1000, 5000,
+                items -> {
+                    batchSizes.add(items.size());
+                    return items.stream().map(item -> "row-" + item).toList();
+                },
+                item -> "row-" + item)) {
+
+            List<String> results = submitConcurrently(committer);
+
+            for (int i = 0; i < CALLERS; i++) {
+                assertThat(results.get(i)).isEqualTo("row-" + i);
+            }
+            assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(CALLERS);
+            assertThat(batchSizes).allMatch(size -> size <= 20);
+            assertThat(batchSizes.size()).isLessThan(CALLERS / 2);
+        }
+    }
+
+    @Test
+    void failedBatchIsRetriedItemByItemSoOnlyTheFailingCallerSeesTheError() throws Exception {
+        List<Integer> singleWrites = new CopyOnWriteArrayList<>();
+        try (GroupCommitter<Integer, String> committer = new GroupCommitter<>("test-committer", 50, 50, 1000, 5000,
+                items -> {
+                    if (items.contains(13)) {
+                        throw new IllegalStateException("duplicate 13");
+                    }
+                    return items.stream().map(item -> "row-" + item).toList();
+                },
+                item -> {
+                    singleWrites.add(item);
+                    if (item == 13) {
+                        throw new IllegalStateException("duplicate 13");
+                    }
+                    return "row-" + item;
+                })) {
+
+            List<String> results = submitConcurrently(committer);
+
+            for (int i = 0; i < CALLERS; i++) {
+                assertThat(results.get(i)).isEqualTo(i == 13 ? "IllegalStateException: duplicate 13" : "row-" + i);
+            }
+            assertThat(singleWrites).contains(13).hasSizeLessThan(CALLERS);
+        }
+    }
+
+    @Test
+    void rejectsSubmitsWhenTheQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try (GroupCommitter<Integer, Integer> committer = new GroupCommitter<>("test-committer", 1, 0, 1, 5000,
+                items -> items,
+                item -> {
+                    writing.countDown();
+                    await(release);
+                    return item;
+                })) {
+            // One item is being written, one waits in the queue, the third does not fit
+            Future<Integer> first = callers.submit(() -> committer.submit(1));
+            await(writing);
+            Future<Integer> queued = callers.submit(() -> committer.submit(2));
+            waitUntil(() -> committer.pendingCount() == 1);
+
+            assertThatThrownBy(() -> committer.submit(3)).isInstanceOf(ServiceOverloadedException.class)
+                    .hasMessageContaining("Too many pending writes");
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void itemWhoseCallerTimedOutWhileQueuedIsNeverWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try (GroupCommitter<Integer, Integer> committer = new GroupCommitter<>("test-committer", 1, 0, 10, 200,
+                items -> items,
+                item -> {
+                    writing.countDown();
+                    await(release);
+                    written.add(item);
+                    return item;
+                })) {
+            // Item 1 holds the writer past both callers' timeouts, so item 2 is still queued when its caller gives up
+            Future<Integer> first = callers.submit(() -> committer.submit(1));
+            await(writing);
+            assertThatThrownBy(() -> committer.submit(2)).isInstanceOf(ServiceOverloadedException.class)
+                    .hasMessageContaining("it was not written");
+            assertThat(committer.pendingCount()).isZero();
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ServiceOverloadedException.class)
+                    .hasMessageContaining("waiting for the write to commit");
+
+            // Item 1 was already being written and still commits; item 2 is skipped
+            release.countDown();
+            assertThat(committer.submit(3)).isEqualTo(3);
+            assertThat(written).containsExactly(1, 3);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    // Submits items 0..CALLERS-1 at once; a failed submit yields "ExceptionType: message"
+    private List<String> submitConcurrently(GroupCommitter<Integer, String> committer) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                int item = i;
+                futures.add(callers.submit(() -> {
+                    await(start);
+                    try {
+                        return committer.submit(item);
+                    } catch (RuntimeException e) {
+                        return e.getClass().getSimpleName() + ": " + e.getMessage();
+                    }
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}